@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "2.7.10-SNAPSHOT"
     id("io.spring.dependency-management") version "1.0.15.RELEASE"
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = "pocket-yacsa"
@@ -29,8 +30,11 @@ dependencies {
     implementation("org.springframework.session:spring-session-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-data-elasticsearch")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springdoc:springdoc-openapi-ui:1.7.0")
     implementation("com.google.code.gson:gson:2.10.1")
+    implementation("org.jsoup:jsoup:1.15.4")
+    implementation("org.apache.lucene:lucene-core:8.11.1")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -41,3 +45,8 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion.set("1.36")
+    profilers.add("gc")
+}
@@ -0,0 +1,95 @@
+package pocketyacsa.server.common.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 의약품 이름 index의 키 입력 한 번당 검색 시간을 측정합니다. index 크기는 setup에서 출력하고, 검색 중 할당량은
+ * gc profiler로 확인합니다.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamePrefixIndexBenchmark {
+
+  private static final String SYLLABLES = "타이레놀게보린펜잘판콜부루펜아스피린베아제까스활명수";
+
+  private static final String[] UNITS = {"정", "캡슐", "시럽", "연질캡슐", "산"};
+
+  @Param({"50000"})
+  private int size;
+
+  private List<String> names;
+
+  private int[] scores;
+
+  private NamePrefixIndex index;
+
+  private String[] keystrokes;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    names = new ArrayList<>(size);
+    scores = new int[size];
+    for (int i = 0; i < size; i++) {
+      StringBuilder name = new StringBuilder();
+      int length = 2 + random.nextInt(5);
+      for (int j = 0; j < length; j++) {
+        name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+      }
+      name.append(UNITS[random.nextInt(UNITS.length)]).append(random.nextInt(1000)).append("mg");
+      names.add(name.toString());
+      // 소수의 의약품에 조회가 몰리는 분포를 흉내냅니다.
+      scores[i] = (int) (Math.pow(random.nextDouble(), 8) * 10_000);
+    }
+    index = NamePrefixIndex.build(names, scores);
+
+    // 이름을 한 글자씩 입력하는 상황을 흉내냅니다.
+    List<String> prefixes = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      String name = names.get(random.nextInt(size));
+      for (int length = 1; length <= Math.min(4, name.length()); length++) {
+        prefixes.add(name.substring(0, length));
+      }
+    }
+    keystrokes = prefixes.toArray(new String[0]);
+
+    System.out.printf("%nnames=%d, estimatedBytes=%d%n", index.size(), index.estimatedBytes());
+  }
+
+  @Benchmark
+  public List<String> searchPerKeystroke() {
+    String prefix = keystrokes[next];
+    next = (next + 1) % keystrokes.length;
+    return index.search(prefix, Constant.KEYWORD_SIZE);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public NamePrefixIndex rebuild() {
+    return NamePrefixIndex.build(names, scores);
+  }
+}
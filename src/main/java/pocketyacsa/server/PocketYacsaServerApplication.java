@@ -3,10 +3,12 @@ package pocketyacsa.server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 @EnableRedisHttpSession
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class PocketYacsaServerApplication {
 
@@ -0,0 +1,55 @@
+package pocketyacsa.server.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class NedrugConfig {
+
+  /**
+   * 오래된 의약품 문서를 백그라운드에서 갱신하는 executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor documentRefreshExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(500);
+    executor.setThreadNamePrefix("document-refresh-");
+    executor.initialize();
+
+    return executor;
+  }
+
+  /**
+   * 의약품 상세조회 요청에서 nedrug 문서를 동시에 받아오는 executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor nedrugFetchExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(16);
+    executor.setMaxPoolSize(16);
+    executor.setQueueCapacity(200);
+    executor.setThreadNamePrefix("nedrug-fetch-");
+    executor.initialize();
+
+    return executor;
+  }
+
+  /**
+   * 여러 의약품을 한 번에 조회하는 요청에서 nedrug 문서를 받아오는 executor. 한 요청이 최대 60개의 문서를
+   * 요청하므로 상세조회 executor와 나누어, 여러 요청이 동시에 들어와도 상세조회가 밀리지 않도록 합니다.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor nedrugBatchFetchExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(120);
+    executor.setThreadNamePrefix("nedrug-batch-fetch-");
+    executor.initialize();
+
+    return executor;
+  }
+}
@@ -6,8 +6,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineHtmlRedis;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchPageRedis;
 import pocketyacsa.server.medicine.domain.redisValue.SearchLogRedis;
 
 @Configuration
@@ -35,4 +38,30 @@ public class RedisConfig {
 
     return redisTemplate;
   }
-}
\ No newline at end of file
+
+  @Bean
+  public RedisTemplate<String, MedicineHtmlRedis> MedicineHtmlRedis() {
+    RedisTemplate<String, MedicineHtmlRedis> redisTemplate = new RedisTemplate<>();
+    redisTemplate.setConnectionFactory(redisConnectionFactory());
+    redisTemplate.setKeySerializer(new StringRedisSerializer());
+    redisTemplate.setValueSerializer(new Jackson2JsonRedisSerializer<>(MedicineHtmlRedis.class));
+
+    return redisTemplate;
+  }
+
+  @Bean
+  public RedisTemplate<String, MedicineSearchPageRedis> MedicineSearchPageRedis() {
+    RedisTemplate<String, MedicineSearchPageRedis> redisTemplate = new RedisTemplate<>();
+    redisTemplate.setConnectionFactory(redisConnectionFactory());
+    redisTemplate.setKeySerializer(new StringRedisSerializer());
+    redisTemplate.setValueSerializer(
+        new Jackson2JsonRedisSerializer<>(MedicineSearchPageRedis.class));
+
+    return redisTemplate;
+  }
+
+  @Bean
+  public StringRedisTemplate stringRedisTemplate() {
+    return new StringRedisTemplate(redisConnectionFactory());
+  }
+}
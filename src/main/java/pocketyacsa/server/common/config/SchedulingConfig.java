@@ -0,0 +1,21 @@
+package pocketyacsa.server.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+  /**
+   * 오래 걸리는 작업이 다른 스케줄 작업을 막지 않도록 여러 스레드로 실행합니다.
+   */
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(4);
+    scheduler.setThreadNamePrefix("scheduling-");
+
+    return scheduler;
+  }
+}
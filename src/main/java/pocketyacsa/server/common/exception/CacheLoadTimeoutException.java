@@ -0,0 +1,8 @@
+package pocketyacsa.server.common.exception;
+
+public class CacheLoadTimeoutException extends RuntimeException {
+
+  public CacheLoadTimeoutException(String key) {
+    super(key + " was not loaded in time");
+  }
+}
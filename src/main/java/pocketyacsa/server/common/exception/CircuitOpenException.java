@@ -0,0 +1,8 @@
+package pocketyacsa.server.common.exception;
+
+public class CircuitOpenException extends RuntimeException {
+
+  public CircuitOpenException(String name) {
+    super(name + " circuit is open");
+  }
+}
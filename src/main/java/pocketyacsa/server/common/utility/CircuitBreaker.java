@@ -0,0 +1,127 @@
+package pocketyacsa.server.common.utility;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 외부 서비스 호출이 연속으로 실패하면 일정 시간 동안 호출을 차단하는 circuit breaker. 차단 시간이 지나면 한 번의
+ * 시험 호출(half-open)을 허용하고, 그 결과에 따라 다시 열거나 닫습니다.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoTime;
+  private final BiConsumer<State, State> transitionListener;
+
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAt;
+  private boolean probing;
+
+  public CircuitBreaker(int failureThreshold, Duration openDuration,
+      BiConsumer<State, State> transitionListener) {
+    this(failureThreshold, openDuration, System::nanoTime, transitionListener);
+  }
+
+  public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoTime,
+      BiConsumer<State, State> transitionListener) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.nanoTime = nanoTime;
+    this.transitionListener = transitionListener;
+  }
+
+  /**
+   * 호출을 시도해도 되는지 확인합니다. 허용된 호출은 반드시 onSuccess 또는 onFailure로 결과를 알려야 합니다.
+   *
+   * @return 호출 허용 여부
+   */
+  public synchronized boolean tryAcquire() {
+    if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+      transition(State.HALF_OPEN);
+    }
+
+    switch (state) {
+      case CLOSED:
+        return true;
+      case HALF_OPEN:
+        if (probing) {
+          return false;
+        }
+        probing = true;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * 호출이 성공했음을 알립니다.
+   */
+  public synchronized void onSuccess() {
+    failures = 0;
+    probing = false;
+    if (state != State.CLOSED) {
+      transition(State.CLOSED);
+    }
+  }
+
+  /**
+   * 호출이 실패했음을 알립니다.
+   */
+  public synchronized void onFailure() {
+    probing = false;
+    failures++;
+    if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+      openedAt = nanoTime.getAsLong();
+      transition(State.OPEN);
+    }
+  }
+
+  /**
+   * tryAcquire로 허용된 호출을 실행하고 결과를 알립니다. 예상하지 못한 예외가 발생해도 결과를 알리므로 half-open
+   * 상태의 시험 호출이 끝나지 않은 채로 남지 않습니다.
+   *
+   * @param call      허용된 호출
+   * @param isFailure 장애로 볼 예외인지 판단하는 함수. 해당하지 않는 예외는 성공으로 알립니다.
+   * @param <T>       호출 결과 타입
+   * @return 호출 결과
+   */
+  public <T> T record(Supplier<T> call, Predicate<RuntimeException> isFailure) {
+    boolean failed = true;
+    try {
+      T result = call.get();
+      failed = false;
+      return result;
+    } catch (RuntimeException e) {
+      failed = isFailure.test(e);
+      throw e;
+    } finally {
+      if (failed) {
+        onFailure();
+      } else {
+        onSuccess();
+      }
+    }
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  private void transition(State to) {
+    State from = state;
+    state = to;
+    transitionListener.accept(from, to);
+  }
+}
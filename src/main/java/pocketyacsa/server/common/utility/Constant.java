@@ -16,4 +16,19 @@ public class Constant {
    * 검색창에 최근검색어를 최대 몇개까지 보여줄지 설정
    */
   public static Integer RECENT_KEYWORD_SIZE = 10;
+
+  /**
+   * 의약품 여러 개를 한 번에 상세조회할 때 최대 몇개까지 조회할지 설정
+   */
+  public static Integer MEDICINE_BATCH_SIZE = 20;
+
+  /**
+   * 의약품 검색결과의 제약회사, 성분별 개수를 최대 몇개까지 보여줄지 설정
+   */
+  public static Integer FACET_SIZE = 20;
+
+  /**
+   * 검색창에 인기 검색어를 최대 몇개까지 보여줄지 설정
+   */
+  public static Integer TRENDING_KEYWORD_SIZE = 10;
 }
@@ -0,0 +1,164 @@
+package pocketyacsa.server.common.utility;
+
+import java.util.Map;
+
+/**
+ * 한글 문자열을 초성, 자모 단위로 나눕니다. 입력중인 글자와 비교할 수 있도록 모든 자모는 호환용 자모(ㄱ, ㅏ 등)로
+ * 바꾸고, 겹자음 받침과 이중모음은 자판으로 입력하는 순서대로 나눕니다.
+ */
+public class HangulUtils {
+
+  private static final char SYLLABLE_BEGIN = '가';
+  private static final char SYLLABLE_END = '힣';
+  private static final char JAMO_BEGIN = 'ㄱ';
+  private static final char JAMO_END = 'ㆎ';
+  private static final char CONSONANT_END = 'ㅎ';
+
+  private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+  private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+  private static final String JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+  private static final int JUNGSEONG_COUNT = 21;
+  private static final int JONGSEONG_COUNT = 28;
+
+  /**
+   * 자판으로 두 번 입력하는 겹자음 받침과 이중모음
+   */
+  private static final Map<Character, String> COMPOUNDS = Map.ofEntries(
+      Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"),
+      Map.entry('ㄺ', "ㄹㄱ"), Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"),
+      Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"), Map.entry('ㄿ', "ㄹㅍ"),
+      Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"),
+      Map.entry('ㅘ', "ㅗㅏ"), Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"),
+      Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"), Map.entry('ㅟ', "ㅜㅣ"),
+      Map.entry('ㅢ', "ㅡㅣ"));
+
+  private HangulUtils() {
+  }
+
+  /**
+   * 완성된 한글은 초성만 남깁니다. 영문, 숫자는 소문자로 남기고 공백이 아닌 나머지 문자는 제외합니다.
+   *
+   * @param text 원본 문자열
+   * @return 초성 문자열
+   */
+  public static String choseong(String text) {
+    StringBuilder result = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isSyllable(c)) {
+        result.append(CHOSEONG.charAt((c - SYLLABLE_BEGIN) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+      } else {
+        appendOther(result, c);
+      }
+    }
+
+    return normalizeSpaces(result);
+  }
+
+  /**
+   * 완성된 한글과 자모를 자판 입력 순서대로 자모 단위로 나눕니다. 영문, 숫자는 소문자로 남기고 공백이 아닌
+   * 나머지 문자는 제외합니다.
+   *
+   * @param text 원본 문자열
+   * @return 자모 문자열
+   */
+  public static String jamo(String text) {
+    StringBuilder result = new StringBuilder(text.length() * 3);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isSyllable(c)) {
+        int index = c - SYLLABLE_BEGIN;
+        result.append(CHOSEONG.charAt(index / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+        appendJamo(result, JUNGSEONG.charAt(index % (JUNGSEONG_COUNT * JONGSEONG_COUNT)
+            / JONGSEONG_COUNT));
+        if (index % JONGSEONG_COUNT != 0) {
+          appendJamo(result, JONGSEONG.charAt(index % JONGSEONG_COUNT));
+        }
+      } else {
+        appendOther(result, c);
+      }
+    }
+
+    return normalizeSpaces(result);
+  }
+
+  /**
+   * 공백을 제외한 모든 글자가 자음인지 확인합니다. ㅌㅁㅍㄹ처럼 초성만 입력한 검색어인지 확인할 때 사용합니다.
+   *
+   * @param text 검색어
+   * @return 초성으로만 이루어졌는지 여부
+   */
+  public static boolean isChoseongOnly(String text) {
+    boolean hasConsonant = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c >= JAMO_BEGIN && c <= CONSONANT_END) {
+        hasConsonant = true;
+      } else if (!Character.isWhitespace(c)) {
+        return false;
+      }
+    }
+
+    return hasConsonant;
+  }
+
+  /**
+   * 완성되지 않은 자모가 포함되어 있는지 확인합니다.
+   *
+   * @param text 검색어
+   * @return 자모 포함 여부
+   */
+  public static boolean containsJamo(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (isJamo(text.charAt(i))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * 한글 음절이나 자모가 포함되어 있는지 확인합니다.
+   *
+   * @param text 검색어
+   * @return 한글 포함 여부
+   */
+  public static boolean containsHangul(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isSyllable(c) || isJamo(c)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean isSyllable(char c) {
+    return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+  }
+
+  private static boolean isJamo(char c) {
+    return c >= JAMO_BEGIN && c <= JAMO_END;
+  }
+
+  private static void appendJamo(StringBuilder result, char jamo) {
+    result.append(COMPOUNDS.getOrDefault(jamo, String.valueOf(jamo)));
+  }
+
+  private static void appendOther(StringBuilder result, char c) {
+    if (isJamo(c)) {
+      appendJamo(result, c);
+    } else if (Character.isLetterOrDigit(c)) {
+      result.append(Character.toLowerCase(c));
+    } else if (Character.isWhitespace(c)) {
+      result.append(' ');
+    }
+  }
+
+  private static String normalizeSpaces(StringBuilder text) {
+    return text.toString().trim().replaceAll(" +", " ");
+  }
+}
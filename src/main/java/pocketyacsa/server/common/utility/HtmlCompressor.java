@@ -0,0 +1,125 @@
+package pocketyacsa.server.common.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Document.OutputSettings;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.jsoup.select.NodeTraversor;
+
+public class HtmlCompressor {
+
+  /**
+   * 의약품 정보 html에서 허용할 태그와 속성
+   */
+  private static final Safelist SAFELIST = Safelist.relaxed().addAttributes(":all", "class");
+
+  private static final OutputSettings OUTPUT_SETTINGS = new OutputSettings()
+      .prettyPrint(false)
+      .outline(false);
+
+  private HtmlCompressor() {
+  }
+
+  /**
+   * script, style, 이벤트 속성 등을 제거하고 텍스트의 연속된 공백을 하나로 줄인 html을 반환합니다. inline 태그
+   * 사이의 공백은 단어를 나누므로 지우지 않고, pre 안의 공백은 그대로 둡니다.
+   *
+   * @param html 원본 html
+   * @return 정리된 html
+   */
+  public static String sanitize(String html) {
+    if (html == null || html.isBlank()) {
+      return "";
+    }
+
+    Document document = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(html));
+    document.outputSettings(OUTPUT_SETTINGS);
+    NodeTraversor.traverse((node, depth) -> {
+      if (node instanceof TextNode && !isPreformatted(node)) {
+        TextNode text = (TextNode) node;
+        text.text(text.getWholeText().replaceAll("\\s+", " "));
+      }
+    }, document.body());
+
+    return document.body().html().trim();
+  }
+
+  private static boolean isPreformatted(Node node) {
+    for (Node parent = node.parent(); parent != null; parent = parent.parent()) {
+      if ("pre".equals(parent.nodeName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * html을 UTF-8로 인코딩한 뒤 gzip으로 압축합니다.
+   *
+   * @param html 압축할 html
+   * @return gzip으로 압축한 값
+   */
+  public static byte[] gzip(String html) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(html.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Accept-Encoding header의 coding과 q 값을 읽어 gzip 응답을 받을 수 있는지 확인합니다. gzip이 명시되어
+   * 있으면 그 q 값을 따르고, 없으면 * 의 q 값을 따릅니다. q가 0이면 거부한 것으로 봅니다.
+   *
+   * @param acceptEncoding 클라이언트가 보낸 Accept-Encoding, 없으면 null
+   * @return gzip으로 압축한 응답을 보내도 되는지 여부
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    double gzip = -1;
+    double any = -1;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim();
+      if (name.equalsIgnoreCase("gzip")) {
+        gzip = Math.max(gzip, quality(params));
+      } else if (name.equals("*")) {
+        any = Math.max(any, quality(params));
+      }
+    }
+
+    return gzip >= 0 ? gzip > 0 : any > 0;
+  }
+
+  /**
+   * coding의 parameter에서 q 값을 읽습니다. q가 없으면 1이고, 읽을 수 없으면 거부한 것으로 보고 0을 반환합니다.
+   */
+  private static double quality(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String[] param = params[i].split("=", 2);
+      if (param.length == 2 && param[0].trim().equalsIgnoreCase("q")) {
+        try {
+          return Double.parseDouble(param[1].trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+
+    return 1;
+  }
+}
@@ -0,0 +1,361 @@
+package pocketyacsa.server.common.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 이름 목록에서 단어가 접두어로 시작하는 이름을 점수가 높은 순서대로 찾는 읽기 전용 index입니다.
+ *
+ * <p>이름은 하나의 char 배열에 이어붙여 저장하고, 이름 안에서 단어가 시작하는 위치마다 그 위치부터 이름 끝까지를
+ * 대소문자 구분 없이 정렬해둡니다. 같은 접두어로 시작하는 단어는 연속된 구간이 되므로 "어린이 타이레놀"도
+ * "타이레놀"로 찾을 수 있습니다. 접두어의 구간은 이진탐색으로 찾고, 구간 안의 상위 k개는 sparse table로 구간
+ * 최댓값을 구하면서 O(k log k)에 찾습니다. 생성한 뒤에는 바뀌지 않으므로 여러 스레드에서 lock 없이 읽을 수
+ * 있습니다.
+ */
+public class NamePrefixIndex {
+
+  private static final NamePrefixIndex EMPTY = new NamePrefixIndex(new char[0], new int[1],
+      new int[0], new int[0], new int[0], new int[][]{});
+
+  /**
+   * 이름들을 이어붙인 문자열
+   */
+  private final char[] chars;
+
+  /**
+   * i번째 이름은 chars[offsets[i]]부터 chars[offsets[i + 1]] 전까지입니다.
+   */
+  private final int[] offsets;
+
+  private final int[] scores;
+
+  /**
+   * 단어가 시작하는 chars의 위치. 그 위치부터 이름 끝까지의 문자열 순서로 정렬되어 있습니다.
+   */
+  private final int[] starts;
+
+  /**
+   * starts와 같은 순서로, 단어가 속한 이름의 위치
+   */
+  private final int[] owners;
+
+  /**
+   * sparse[j][i]는 starts의 [i, i + 2^j) 구간에서 점수가 가장 높은 단어의 위치입니다.
+   */
+  private final int[][] sparse;
+
+  private NamePrefixIndex(char[] chars, int[] offsets, int[] scores, int[] starts, int[] owners,
+      int[][] sparse) {
+    this.chars = chars;
+    this.offsets = offsets;
+    this.scores = scores;
+    this.starts = starts;
+    this.owners = owners;
+    this.sparse = sparse;
+  }
+
+  /**
+   * 비어있는 index를 반환합니다.
+   *
+   * @return 비어있는 index
+   */
+  public static NamePrefixIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * 이름과 점수로 index를 만듭니다. 같은 이름이 여러 번 있으면 점수가 가장 높은 것만 남깁니다.
+   *
+   * @param names  이름 목록
+   * @param scores names와 같은 순서의 점수
+   * @return 만들어진 index
+   */
+  public static NamePrefixIndex build(List<String> names, int[] scores) {
+    if (names.size() != scores.length) {
+      throw new IllegalArgumentException("names와 scores의 길이가 다릅니다.");
+    }
+
+    Integer[] order = new Integer[names.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> {
+      int compared = compareIgnoreCase(names.get(a), names.get(b));
+      return compared != 0 ? compared : Integer.compare(scores[b], scores[a]);
+    });
+
+    List<String> sortedNames = new ArrayList<>(names.size());
+    int[] sortedScores = new int[names.size()];
+    int length = 0;
+    for (int i : order) {
+      String name = names.get(i);
+      // 같은 이름은 점수가 높은 것이 먼저 정렬되므로 처음 나온 것만 남깁니다.
+      if (!sortedNames.isEmpty() && sortedNames.get(sortedNames.size() - 1).equals(name)) {
+        continue;
+      }
+      sortedScores[sortedNames.size()] = scores[i];
+      sortedNames.add(name);
+      length += name.length();
+    }
+
+    int size = sortedNames.size();
+    char[] chars = new char[length];
+    int[] offsets = new int[size + 1];
+    List<Integer> wordStarts = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String name = sortedNames.get(i);
+      name.getChars(0, name.length(), chars, offsets[i]);
+      offsets[i + 1] = offsets[i] + name.length();
+      for (int j = 0; j < name.length(); j++) {
+        if (isWordStart(name, j)) {
+          wordStarts.add(offsets[i] + j);
+        }
+      }
+    }
+
+    int[] trimmedScores = Arrays.copyOf(sortedScores, size);
+    // 이름의 위치는 offsets에서 이진탐색으로 찾고, 단어의 끝은 이름의 끝입니다.
+    Integer[] words = wordStarts.toArray(new Integer[0]);
+    Arrays.sort(words, (a, b) -> {
+      int ownerA = owner(offsets, a);
+      int ownerB = owner(offsets, b);
+      int compared = compareIgnoreCase(chars, a, offsets[ownerA + 1], b, offsets[ownerB + 1]);
+      if (compared != 0) {
+        return compared;
+      }
+      compared = Integer.compare(trimmedScores[ownerB], trimmedScores[ownerA]);
+      return compared != 0 ? compared : Integer.compare(a, b);
+    });
+
+    int[] starts = new int[words.length];
+    int[] owners = new int[words.length];
+    int[] wordScores = new int[words.length];
+    for (int i = 0; i < words.length; i++) {
+      starts[i] = words[i];
+      owners[i] = owner(offsets, words[i]);
+      wordScores[i] = trimmedScores[owners[i]];
+    }
+
+    return new NamePrefixIndex(chars, offsets, trimmedScores, starts, owners,
+        buildSparseTable(wordScores));
+  }
+
+  /**
+   * 저장된 이름의 개수를 반환합니다.
+   *
+   * @return 이름의 개수
+   */
+  public int size() {
+    return scores.length;
+  }
+
+  /**
+   * index가 차지하는 배열들의 대략적인 크기를 반환합니다.
+   *
+   * @return byte 단위의 크기
+   */
+  public long estimatedBytes() {
+    long bytes = (long) chars.length * Character.BYTES
+        + (long) (offsets.length + scores.length + starts.length + owners.length)
+        * Integer.BYTES;
+    for (int[] level : sparse) {
+      bytes += (long) level.length * Integer.BYTES;
+    }
+
+    return bytes;
+  }
+
+  /**
+   * 대소문자 구분 없이 prefix로 시작하는 단어가 있는 이름을 점수가 높은 순서대로 최대 limit개 반환합니다.
+   * prefix가 여러 단어이면 이름 안에서 이어지는 단어들과 비교합니다. 점수가 같으면 정렬 순서가 앞선 단어의 이름이
+   * 먼저입니다.
+   *
+   * @param prefix 접두어
+   * @param limit  최대 개수
+   * @return prefix로 시작하는 단어가 있는 이름
+   */
+  public List<String> search(String prefix, int limit) {
+    int from = lowerBound(prefix, false);
+    int to = lowerBound(prefix, true);
+    if (from >= to || limit <= 0) {
+      return Collections.emptyList();
+    }
+
+    List<String> result = new ArrayList<>(Math.min(limit, to - from));
+    // 한 이름의 여러 단어가 prefix로 시작할 수 있으므로 이미 반환한 이름은 건너뜁니다.
+    Set<Integer> added = new HashSet<>();
+    // {최댓값 위치, 구간 시작, 구간 끝}을 점수가 높은 순서대로 꺼냅니다.
+    PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> {
+      int compared = Integer.compare(score(b[0]), score(a[0]));
+      return compared != 0 ? compared : Integer.compare(a[0], b[0]);
+    });
+    ranges.add(new int[]{maxPosition(from, to), from, to});
+
+    while (!ranges.isEmpty() && result.size() < limit) {
+      int[] range = ranges.poll();
+      int position = range[0];
+      if (added.add(owners[position])) {
+        result.add(name(owners[position]));
+      }
+
+      if (range[1] < position) {
+        ranges.add(new int[]{maxPosition(range[1], position), range[1], position});
+      }
+      if (position + 1 < range[2]) {
+        ranges.add(new int[]{maxPosition(position + 1, range[2]), position + 1, range[2]});
+      }
+    }
+
+    return result;
+  }
+
+  private String name(int owner) {
+    return new String(chars, offsets[owner], offsets[owner + 1] - offsets[owner]);
+  }
+
+  private int score(int position) {
+    return scores[owners[position]];
+  }
+
+  /**
+   * [from, to) 구간에서 점수가 가장 높은 위치를 반환합니다.
+   */
+  private int maxPosition(int from, int to) {
+    int level = 31 - Integer.numberOfLeadingZeros(to - from);
+    return better(sparse[level][from], sparse[level][to - (1 << level)]);
+  }
+
+  private int better(int a, int b) {
+    if (score(a) != score(b)) {
+      return score(a) > score(b) ? a : b;
+    }
+
+    return Math.min(a, b);
+  }
+
+  /**
+   * upper가 false이면 prefix보다 작지 않은 첫 단어의 위치를, true이면 prefix로 시작하지도 않으면서 prefix보다
+   * 큰 첫 단어의 위치를 반환합니다.
+   */
+  private int lowerBound(String prefix, boolean upper) {
+    int low = 0;
+    int high = starts.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int compared = comparePrefix(mid, prefix);
+      if (compared < 0 || (upper && compared == 0)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * position의 단어가 prefix로 시작하면 0, prefix보다 앞이면 음수, 뒤면 양수를 반환합니다.
+   */
+  private int comparePrefix(int position, String prefix) {
+    int start = starts[position];
+    int length = offsets[owners[position] + 1] - start;
+    int common = Math.min(length, prefix.length());
+    for (int i = 0; i < common; i++) {
+      int compared = Character.compare(Character.toLowerCase(chars[start + i]),
+          Character.toLowerCase(prefix.charAt(i)));
+      if (compared != 0) {
+        return compared;
+      }
+    }
+
+    return length >= prefix.length() ? 0 : -1;
+  }
+
+  /**
+   * elasticsearch 자동완성 필드와 같이 글자나 숫자가 이어진 부분을 단어로 봅니다. 이름 전체로도 찾을 수 있도록
+   * 첫 글자는 항상 단어의 시작입니다.
+   */
+  private static boolean isWordStart(String name, int index) {
+    return index == 0 || (Character.isLetterOrDigit(name.charAt(index))
+        && !Character.isLetterOrDigit(name.charAt(index - 1)));
+  }
+
+  /**
+   * chars의 position이 속한 이름의 위치를 반환합니다.
+   */
+  private static int owner(int[] offsets, int position) {
+    int low = 0;
+    int high = offsets.length - 2;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (offsets[mid] <= position) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    return low;
+  }
+
+  private static int compareIgnoreCase(String a, String b) {
+    int common = Math.min(a.length(), b.length());
+    for (int i = 0; i < common; i++) {
+      int compared = Character.compare(Character.toLowerCase(a.charAt(i)),
+          Character.toLowerCase(b.charAt(i)));
+      if (compared != 0) {
+        return compared;
+      }
+    }
+    if (a.length() != b.length()) {
+      return Integer.compare(a.length(), b.length());
+    }
+
+    return a.compareTo(b);
+  }
+
+  private static int compareIgnoreCase(char[] chars, int fromA, int toA, int fromB, int toB) {
+    int common = Math.min(toA - fromA, toB - fromB);
+    for (int i = 0; i < common; i++) {
+      int compared = Character.compare(Character.toLowerCase(chars[fromA + i]),
+          Character.toLowerCase(chars[fromB + i]));
+      if (compared != 0) {
+        return compared;
+      }
+    }
+
+    return Integer.compare(toA - fromA, toB - fromB);
+  }
+
+  private static int[][] buildSparseTable(int[] scores) {
+    int size = scores.length;
+    if (size == 0) {
+      return new int[][]{};
+    }
+
+    int levels = 32 - Integer.numberOfLeadingZeros(size);
+    int[][] sparse = new int[levels][];
+    sparse[0] = new int[size];
+    for (int i = 0; i < size; i++) {
+      sparse[0][i] = i;
+    }
+    for (int level = 1; level < levels; level++) {
+      int half = 1 << (level - 1);
+      int[] previous = sparse[level - 1];
+      int[] current = new int[size - (1 << level) + 1];
+      for (int i = 0; i < current.length; i++) {
+        int a = previous[i];
+        int b = previous[i + half];
+        current[i] = scores[a] != scores[b] ? (scores[a] > scores[b] ? a : b) : Math.min(a, b);
+      }
+      sparse[level] = current;
+    }
+
+    return sparse;
+  }
+}
@@ -0,0 +1,53 @@
+package pocketyacsa.server.common.utility;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 초당 허용 요청 수를 넘지 않도록 요청 간격을 일정하게 벌려주는 rate limiter
+ */
+public class RateLimiter {
+
+  private final long intervalNanos;
+  private final LongSupplier nanoTime;
+
+  private long nextFreeNanos;
+
+  public RateLimiter(double permitsPerSecond) {
+    this(permitsPerSecond, System::nanoTime);
+  }
+
+  public RateLimiter(double permitsPerSecond, LongSupplier nanoTime) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive");
+    }
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.nanoTime = nanoTime;
+    this.nextFreeNanos = nanoTime.getAsLong();
+  }
+
+  /**
+   * 다음 요청이 허용될 때까지 기다립니다.
+   *
+   * @throws InterruptedException 기다리는 도중 interrupt 된 경우
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos = reserve();
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * 다음 요청 시각을 예약하고, 예약한 시각까지 기다려야 하는 시간을 반환합니다.
+   *
+   * @return 기다려야 하는 시간(nanos)
+   */
+  synchronized long reserve() {
+    long now = nanoTime.getAsLong();
+    long slot = Math.max(now, nextFreeNanos);
+    nextFreeNanos = slot + intervalNanos;
+
+    return slot - now;
+  }
+}
@@ -0,0 +1,80 @@
+package pocketyacsa.server.common.utility;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key의 요청이 동시에 들어오면 먼저 들어온 요청만 실행하고, 나머지 요청은 그 결과를 함께 받습니다. 실행이 끝나면
+ * key를 지우므로 결과를 저장하지는 않습니다. 결과는 여러 요청이 공유하므로 수정하지 않아야 합니다.
+ *
+ * @param <T> 요청 결과 타입
+ */
+public class RequestCoalescer<T> {
+
+  private final ConcurrentHashMap<String, CompletableFuture<T>> inFlight =
+      new ConcurrentHashMap<>();
+
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder deduplicated = new LongAdder();
+
+  /**
+   * key의 요청이 실행 중이면 그 결과를 기다리고, 아니면 loader를 실행합니다. 실행 중인 요청이 예외로 끝나면
+   * 기다리던 요청도 같은 예외를 받습니다.
+   *
+   * @param key    같은 결과가 나오는 요청을 구분하는 key
+   * @param loader 요청을 실행할 함수
+   * @return 요청 결과
+   */
+  public T execute(String key, Supplier<T> loader) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<T> running = inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      deduplicated.increment();
+      return join(running);
+    }
+
+    executed.increment();
+    try {
+      T result = loader.get();
+      future.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * @return 직접 실행한 요청 수
+   */
+  public long getExecuted() {
+    return executed.sum();
+  }
+
+  /**
+   * @return 실행 중인 요청의 결과를 함께 받은 요청 수
+   */
+  public long getDeduplicated() {
+    return deduplicated.sum();
+  }
+
+  private T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -8,21 +8,35 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import pocketyacsa.server.common.exception.handler.CommonResponse;
+import pocketyacsa.server.common.utility.HtmlCompressor;
+import pocketyacsa.server.medicine.domain.entity.MedicineDocument;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
 import pocketyacsa.server.medicine.domain.redisValue.SearchLogRedis;
+import pocketyacsa.server.medicine.domain.response.MedicineFacetSearchPageRes;
 import pocketyacsa.server.medicine.domain.response.MedicineRes;
 import pocketyacsa.server.medicine.domain.response.MedicineSearchPageRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSectionRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSummaryRes;
 import pocketyacsa.server.medicine.service.MedicineSearchService;
 import pocketyacsa.server.medicine.service.MedicineService;
 
@@ -37,15 +51,23 @@ public class MedicineController {
   private final MedicineSearchService medicineSearchService;
 
   /**
-   * 특정 id의 medicine을 반환합니다.
+   * 의약품 정보 문서 응답을 클라이언트가 다시 확인하지 않고 사용할 수 있는 시간
+   */
+  @Value("${medicine.section.max-age:1d}")
+  private Duration sectionMaxAge;
+
+  /**
+   * 특정 id의 medicine을 반환합니다. If-None-Match가 응답의 ETag와 같으면 본문 없이 304를 반환합니다.
    *
-   * @param id medicine의 id
+   * @param id          medicine의 id
+   * @param ifNoneMatch 클라이언트가 가지고 있는 ETag
    * @return 특정 id의 medicine
    */
   @Operation(summary = "DB의 id를 이용하여 의약품 정보 조회",
       description = "RDB의 primary key인 id를 통해 의약품 정보를 조회합니다.")
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "304", description = "의약품 정보 변경 없음"),
       @ApiResponse(responseCode = "404 (MEDICINE_NOT_EXIST)", description = "의약품 정보 없음",
           content = @Content(schema = @Schema(
               example = "{\n"
@@ -55,9 +77,219 @@ public class MedicineController {
                   + "}")))
   })
   @GetMapping("/id/{id}")
-  public MedicineRes getMedicineById(@PathVariable int id) {
+  public ResponseEntity<MedicineRes> getMedicineById(@PathVariable int id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     MedicineRes medicine = medicineService.getMedicineResById(id);
-    return medicine;
+    String etag = medicineService.getMedicineResEtag(medicine);
+    CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+    if (isNotModified(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(cacheControl)
+          .build();
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl);
+    if (etag != null) {
+      response.eTag(etag);
+    }
+
+    return response.body(medicine);
+  }
+
+  /**
+   * 여러 id의 medicine을 한 번에 반환합니다. 존재하지 않는 id는 제외하고 요청한 순서대로 반환합니다.
+   *
+   * @param ids medicine의 id 목록
+   * @return 요청한 순서대로의 medicine 목록
+   */
+  @Operation(summary = "DB의 id 여러 개를 이용하여 의약품 정보 조회",
+      description = "최대 MEDICINE_BATCH_SIZE개의 의약품 정보를 한 번에 조회합니다. "
+          + "존재하지 않는 id는 결과에서 제외됩니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "400 (MEDICINE_IDS_OUT_OF_RANGE)",
+          description = "조회할 의약품 개수가 범위를 벗어남",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"MEDICINE_IDS_OUT_OF_RANGE\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"한 번에 조회할 수 있는 의약품 개수를 벗어납니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (MEDICINE_NOT_EXIST)", description = "의약품 정보 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"MEDICINE_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"의약품이 존재하지 않습니다.\"\n"
+                  + "}")))
+  })
+  @GetMapping
+  public List<MedicineRes> getMedicinesByIds(@RequestParam List<Integer> ids) {
+    return medicineService.getMedicineResByIds(ids);
+  }
+
+  /**
+   * 특정 id의 medicine 정보 중 의약품 정보 html을 제외한 정보를 반환합니다.
+   *
+   * @param id medicine의 id
+   * @return 특정 id의 medicine 요약 정보
+   */
+  @Operation(summary = "DB의 id를 이용하여 의약품 요약 정보 조회",
+      description = "의약품의 이름, 제약회사, 성분 등 nedrug 문서를 제외한 정보만 바로 조회합니다. "
+          + "효능, 용법, 주의사항은 의약품 정보 조회 API로 따로 조회합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "404 (MEDICINE_NOT_EXIST)", description = "의약품 정보 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"MEDICINE_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"의약품이 존재하지 않습니다.\"\n"
+                  + "}")))
+  })
+  @GetMapping("/id/{id}/summary")
+  public MedicineSummaryRes getMedicineSummaryById(@PathVariable int id) {
+    return medicineService.getMedicineSummaryResById(id);
+  }
+
+  /**
+   * 특정 id의 medicine의 의약품 정보 하나를 반환합니다.
+   *
+   * @param id      medicine의 id
+   * @param section effect, usages, precautions 중 하나
+   * @return 특정 종류의 의약품 정보
+   */
+  @Operation(summary = "의약품 정보 조회",
+      description = "의약품의 효능(effect), 용법(usages), 주의사항(precautions) 중 하나를 조회합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 정보 조회 성공"),
+      @ApiResponse(responseCode = "400 (SECTION_NOT_EXIST)", description = "존재하지 않는 의약품 정보 종류",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SECTION_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"존재하지 않는 의약품 정보 종류입니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (MEDICINE_NOT_EXIST)", description = "의약품 정보 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"MEDICINE_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"의약품이 존재하지 않습니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "503 (SECTION_UNAVAILABLE)", description = "의약품 정보를 불러오지 못함",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SECTION_UNAVAILABLE\",\n"
+                  + "  \"httpStatus\": \"SERVICE_UNAVAILABLE\",\n"
+                  + "  \"message\": \"의약품 정보를 불러오지 못했습니다.\"\n"
+                  + "}")))
+  })
+  @GetMapping("/id/{id}/sections/{section}")
+  public ResponseEntity<MedicineSectionRes> getMedicineSection(@PathVariable int id,
+      @PathVariable String section) {
+    MedicineDocument document =
+        medicineService.getMedicineDocument(id, MedicineSection.from(section));
+
+    return sectionResponse(medicineService.getDocumentEtag(document, "json"))
+        .body(medicineService.getMedicineSectionRes(document));
+  }
+
+  /**
+   * 특정 id의 medicine의 의약품 정보 html을 저장된 바이트 그대로 반환합니다. 클라이언트가 gzip을 지원하면
+   * 압축해서 저장해둔 값을 Content-Encoding: gzip으로 반환합니다.
+   *
+   * @param id             medicine의 id
+   * @param section        effect, usages, precautions 중 하나
+   * @param acceptEncoding 클라이언트가 지원하는 압축 방식
+   * @return 의약품 정보 html
+   */
+  @Operation(summary = "의약품 정보 html 조회",
+      description = "의약품의 효능(effect), 용법(usages), 주의사항(precautions) html을 조회합니다. "
+          + "Accept-Encoding에 gzip이 포함되어 있으면 압축된 html을 반환합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 정보 조회 성공"),
+      @ApiResponse(responseCode = "400 (SECTION_NOT_EXIST)", description = "존재하지 않는 의약품 정보 종류",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SECTION_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"존재하지 않는 의약품 정보 종류입니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (MEDICINE_NOT_EXIST)", description = "의약품 정보 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"MEDICINE_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"의약품이 존재하지 않습니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "503 (SECTION_UNAVAILABLE)", description = "의약품 정보를 불러오지 못함",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SECTION_UNAVAILABLE\",\n"
+                  + "  \"httpStatus\": \"SERVICE_UNAVAILABLE\",\n"
+                  + "  \"message\": \"의약품 정보를 불러오지 못했습니다.\"\n"
+                  + "}")))
+  })
+  @GetMapping("/id/{id}/sections/{section}/html")
+  public ResponseEntity<byte[]> getMedicineSectionHtml(@PathVariable int id,
+      @PathVariable String section,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    MedicineDocument document =
+        medicineService.getMedicineDocument(id, MedicineSection.from(section));
+    // 압축본이 아직 없는 문서는 압축하지 않은 html을 보냅니다.
+    boolean gzip = HtmlCompressor.acceptsGzip(acceptEncoding) && document.getGzipContent() != null;
+    ResponseEntity.BodyBuilder response =
+        sectionResponse(medicineService.getDocumentEtag(document, gzip ? "gzip" : "html"))
+            .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .body(document.getGzipContent());
+    }
+
+    return response.body(document.getContent().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 의약품 정보 문서 응답의 공통 header를 설정합니다. ETag가 있으면 If-None-Match가 같은 요청에 304를
+   * 반환합니다.
+   *
+   * @param etag 문서의 ETag, 없으면 null
+   * @return header가 설정된 응답
+   */
+  private ResponseEntity.BodyBuilder sectionResponse(String etag) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(sectionMaxAge).cachePrivate());
+    if (etag != null) {
+      response.eTag(etag);
+    }
+
+    return response;
+  }
+
+  /**
+   * If-None-Match에 현재 ETag가 포함되어 있는지 확인합니다.
+   *
+   * @param ifNoneMatch 클라이언트가 보낸 If-None-Match
+   * @param etag        현재 ETag, 없으면 null
+   * @return 304를 반환해도 되는지 여부
+   */
+  private boolean isNotModified(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || etag == null) {
+      return false;
+    }
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   /**
@@ -99,6 +331,138 @@ public class MedicineController {
     return medicineSearchService.getMedicineSearchesByNameAndPage(name, page);
   }
 
+  /**
+   * 특정 name의 medicine 검색결과를 cursor 다음부터 한 페이지 반환합니다. 응답의 nextCursor로 다음 페이지를
+   * 조회합니다.
+   *
+   * @param name   의약품 검색어
+   * @param cursor 이전 응답의 nextCursor. 첫 페이지는 생략
+   * @return cursor 다음 페이지의 검색결과
+   */
+  @Operation(summary = "의약품 검색 (cursor)",
+      description = "의약품을 검색합니다. 첫 페이지는 cursor 없이 요청하고, 다음 페이지는 응답의 nextCursor로 "
+          + "요청합니다. 무한 스크롤처럼 뒤쪽 페이지까지 조회하는 경우 사용합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "400 (KEYWORD_NOT_EXIST)", description = "검색어가 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"KEYWORD_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"검색어를 입력해주세요.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "400 (SEARCH_CURSOR_INVALID)", description = "잘못된 cursor",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SEARCH_CURSOR_INVALID\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"검색결과 cursor가 올바르지 않습니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (SEARCH_RESULT_NOT_EXIST)", description = "조회된 의약품 정보가 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SEARCH_RESULT_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"검색결과가 존재하지 않습니다\"\n"
+                  + "}"))),
+  })
+  @GetMapping("/search/cursor")
+  public MedicineSearchPageRes getMedicinesByNameAndCursor(@RequestParam String name,
+      @RequestParam(required = false) String cursor) {
+    return medicineSearchService.getMedicineSearchesByNameAndCursor(name, cursor);
+  }
+
+  /**
+   * 특정 name의 medicine 검색결과를 제약회사와 성분으로 거른 결과와, 거른 결과의 제약회사별, 성분별 의약품 개수를
+   * 반환합니다.
+   *
+   * @param name       의약품 검색어
+   * @param page       검색결과 페이지
+   * @param company    제약회사. 여러 개를 넘기면 하나라도 일치하는 의약품을 포함
+   * @param ingredient 성분. 여러 개를 넘기면 모두 포함하는 의약품만 포함
+   * @return 특정 page의 검색결과와 제약회사별, 성분별 의약품 개수
+   */
+  @Operation(summary = "제약회사, 성분으로 거른 의약품 검색",
+      description = "의약품을 검색하고 제약회사, 성분으로 검색결과를 거릅니다. 거른 검색결과의 제약회사별, "
+          + "성분별 의약품 개수를 FACET_SIZE개까지 함께 반환합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "400 (KEYWORD_NOT_EXIST)", description = "검색어가 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"KEYWORD_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"검색어를 입력해주세요.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "400 (PAGE_OUT_OF_RANGE)", description = "페이지 범위를 벗어나서 조회",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"PAGE_OUT_OF_RANGE\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"페이지 범위를 벗어납니다.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (SEARCH_RESULT_NOT_EXIST)", description = "조회된 의약품 정보가 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SEARCH_RESULT_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"검색결과가 존재하지 않습니다\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "503 (SEARCH_FACET_UNAVAILABLE)",
+          description = "제약회사, 성분 필드를 색인하는 중",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SEARCH_FACET_UNAVAILABLE\",\n"
+                  + "  \"httpStatus\": \"SERVICE_UNAVAILABLE\",\n"
+                  + "  \"message\": \"제약회사, 성분 검색을 준비하고 있습니다.\"\n"
+                  + "}"))),
+  })
+  @GetMapping("/search/facets")
+  public MedicineFacetSearchPageRes getMedicinesByFacets(@RequestParam String name,
+      @RequestParam int page, @RequestParam(required = false) List<String> company,
+      @RequestParam(required = false) List<String> ingredient) {
+    return medicineSearchService.getMedicineSearchesByFacets(name, company, ingredient, page);
+  }
+
+  /**
+   * 특정 성분을 포함하는 medicine 목록을 반환합니다. page를 넘겨줌으로써 특정 페이지의 정보로 제공됩니다.
+   *
+   * @param name 성분 이름
+   * @param page 조회할 페이지
+   * @return 특정 page의 성분을 포함하는 medicine 목록
+   */
+  @Operation(summary = "성분으로 의약품 조회",
+      description = "특정 성분을 포함하는 의약품을 조회합니다. 성분 이름이 정확히 일치해야 합니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "의약품 조회 성공"),
+      @ApiResponse(responseCode = "400 (KEYWORD_NOT_EXIST)", description = "성분 이름이 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"KEYWORD_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"검색어를 입력해주세요.\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "404 (SEARCH_RESULT_NOT_EXIST)", description = "조회된 의약품 정보가 없음",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"SEARCH_RESULT_NOT_EXIST\",\n"
+                  + "  \"httpStatus\": \"NOT_FOUND\",\n"
+                  + "  \"message\": \"검색결과가 존재하지 않습니다\"\n"
+                  + "}"))),
+      @ApiResponse(responseCode = "400 (PAGE_OUT_OF_RANGE)", description = "페이지 범위를 벗어나서 조회",
+          content = @Content(schema = @Schema(
+              example = "{\n"
+                  + "  \"name\": \"PAGE_OUT_OF_RANGE\",\n"
+                  + "  \"httpStatus\": \"BAD_REQUEST\",\n"
+                  + "  \"message\": \"페이지 범위를 벗어납니다.\"\n"
+                  + "}"))),
+  })
+  @GetMapping("/search/ingredient")
+  public MedicineSearchPageRes getMedicinesByIngredient(@RequestParam String name,
+      @RequestParam int page) {
+    return medicineService.getMedicinesByIngredientAndPage(name, page);
+  }
+
   /**
    * 최근검색어를 추가합니다.
    *
@@ -144,6 +508,27 @@ public class MedicineController {
     return medicineSearchService.getMedicineNamesByKeyword(name);
   }
 
+  /**
+   * 전체 사용자의 최근 검색어 중 인기 검색어를 TRENDING_KEYWORD_SIZE만큼 반환합니다.
+   *
+   * @return 인기 검색어들
+   */
+  @Operation(summary = "의약품 인기 검색어 조회",
+      description = "전체 사용자의 최근 검색어 중 인기 검색어를 TRENDING_KEYWORD_SIZE만큼 반환합니다. "
+          + "최근 검색어일수록 가중치가 높습니다.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "인기 검색어 조회 성공",
+          content = @Content(schema = @Schema(
+              example = "[\n"
+                  + "  \"타이레놀\",\n"
+                  + "  \"타미플루\"\n"
+                  + "]")))
+  })
+  @GetMapping("/search/trending")
+  public List<String> getTrendingKeywords() {
+    return medicineSearchService.getTrendingKeywords();
+  }
+
   /**
    * 최근 검색기록을 RECENT_KEYWORD_SIZE만큼 반환합니다.
    *
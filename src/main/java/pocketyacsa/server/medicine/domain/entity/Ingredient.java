@@ -0,0 +1,34 @@
+package pocketyacsa.server.medicine.domain.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.common.entity.BaseEntity;
+
+/**
+ * 의약품 성분 사전. Medicine.ingredient에 '|'로 구분되어 있던 성분 이름을 하나씩 저장합니다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_ingredient_name", columnNames = {"name"}))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class Ingredient extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private int id;
+
+  private String name;
+}
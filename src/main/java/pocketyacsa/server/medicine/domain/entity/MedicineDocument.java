@@ -0,0 +1,92 @@
+package pocketyacsa.server.medicine.domain.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.common.entity.BaseEntity;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_medicine_document_code_section", columnNames = {"code", "section"}))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineDocument extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private int id;
+
+  private String code;
+
+  @Enumerated(EnumType.STRING)
+  private MedicineSection section;
+
+  /**
+   * 정리하고 공백을 제거한 html
+   */
+  @Column(columnDefinition = "MEDIUMTEXT")
+  private String content;
+
+  /**
+   * content를 gzip으로 압축한 값
+   */
+  @Lob
+  @Column(columnDefinition = "MEDIUMBLOB")
+  private byte[] gzipContent;
+
+  /**
+   * nedrug에서 받은 원본 html의 md5 hash
+   */
+  private String contentHash;
+
+  private String etag;
+
+  private String lastModified;
+
+  private LocalDateTime fetchedAt;
+
+  /**
+   * 새로 받아온 html로 문서를 갱신합니다.
+   *
+   * @param content     정리된 html 문자열
+   * @param gzipContent content를 gzip으로 압축한 값
+   * @param contentHash 원본 html의 md5 hash
+   * @param fetchedAt   html을 받아온 시각
+   */
+  public void refresh(String content, byte[] gzipContent, String contentHash,
+      LocalDateTime fetchedAt) {
+    this.content = content;
+    this.gzipContent = gzipContent;
+    this.contentHash = contentHash;
+    this.fetchedAt = fetchedAt;
+  }
+
+  /**
+   * 문서가 변경되지 않았음을 확인하고 검증값과 받아온 시각만 갱신합니다.
+   *
+   * @param etag         nedrug 응답의 ETag
+   * @param lastModified nedrug 응답의 Last-Modified
+   * @param fetchedAt    변경되지 않았음을 확인한 시각
+   */
+  public void revalidate(String etag, String lastModified, LocalDateTime fetchedAt) {
+    this.etag = etag;
+    this.lastModified = lastModified;
+    this.fetchedAt = fetchedAt;
+  }
+}
@@ -0,0 +1,48 @@
+package pocketyacsa.server.medicine.domain.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.common.entity.BaseEntity;
+
+/**
+ * 의약품과 성분의 관계. position은 Medicine.ingredient에 적혀 있던 성분의 순서입니다.
+ */
+@Entity
+@Table(name = "medicine_ingredient",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_medicine_ingredient_medicine_position",
+        columnNames = {"medicine_id", "position"}),
+    indexes = @Index(
+        name = "idx_medicine_ingredient_ingredient_medicine",
+        columnList = "ingredient_id, medicine_id"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineIngredient extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private int id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  private Medicine medicine;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  private Ingredient ingredient;
+
+  private int position;
+}
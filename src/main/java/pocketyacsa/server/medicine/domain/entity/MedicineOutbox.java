@@ -0,0 +1,56 @@
+package pocketyacsa.server.medicine.domain.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.common.entity.BaseEntity;
+
+/**
+ * medicine index에 반영해야 하는 medicine 변경 event. medicine 테이블의 trigger가 변경과 같은 transaction에서
+ * 추가하고, 반영에 성공하면 삭제합니다. id는 증가하는 값이므로 elasticsearch 문서의 version으로 사용합니다.
+ */
+@Entity
+@Table(name = "medicine_outbox",
+    indexes = @Index(name = "idx_medicine_outbox_retry_at", columnList = "retry_at, id"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineOutbox extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private long id;
+
+  /**
+   * 변경된 medicine의 id. 삭제된 medicine도 가리키므로 외래키로 두지 않습니다.
+   */
+  private int medicineId;
+
+  private int attempts;
+
+  /**
+   * 이 시각 이후에 반영을 시도합니다.
+   */
+  private LocalDateTime retryAt;
+
+  /**
+   * 반영에 실패한 event를 retryAt 이후에 다시 시도하도록 합니다.
+   *
+   * @param retryAt 다시 시도할 시각
+   */
+  public void retryLater(LocalDateTime retryAt) {
+    this.attempts++;
+    this.retryAt = retryAt;
+  }
+}
@@ -0,0 +1,37 @@
+package pocketyacsa.server.medicine.domain.entity;
+
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SECTION_NOT_EXIST;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import pocketyacsa.server.common.exception.BadRequestException;
+
+@Getter
+@AllArgsConstructor
+public enum MedicineSection {
+
+  EFFECT("/EE"),
+  USAGES("/UD"),
+  PRECAUTIONS("/NB");
+
+  /**
+   * 의약품 html 다운로드 링크의 url code 뒷부분
+   */
+  private String suffix;
+
+  /**
+   * url에 사용하는 소문자 이름으로 의약품 정보의 종류를 찾습니다.
+   *
+   * @param name effect, usages, precautions 중 하나
+   * @return 의약품 정보의 종류
+   */
+  public static MedicineSection from(String name) {
+    for (MedicineSection section : values()) {
+      if (section.name().equalsIgnoreCase(name)) {
+        return section;
+      }
+    }
+
+    throw new BadRequestException(SECTION_NOT_EXIST.getErrorResponse());
+  }
+}
@@ -0,0 +1,40 @@
+package pocketyacsa.server.medicine.domain.redisValue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineHtmlRedis {
+
+  @Schema(description = "의약품 정보 html", example = "<p>감기에 좋습니다</p>")
+  private String html;
+
+  @Schema(description = "nedrug 응답의 ETag", example = "\"5e1b-5f2c\"")
+  private String etag;
+
+  @Schema(description = "nedrug 응답의 Last-Modified", example = "Fri, 21 Oct 2022 14:02:13 GMT")
+  private String lastModified;
+
+  @Schema(description = "html의 md5 hash", example = "9e107d9d372bb6826bd81d3542a419d6")
+  private String contentHash;
+
+  @Schema(description = "nedrug에서 html을 받아온 일자", example = "2022-10-21T23:02:13")
+  private String fetchedAt;
+
+  @Schema(description = "html을 다시 받아와야 하는 시각(epoch millis)", example = "1666447333000")
+  private long freshUntil;
+
+  @Schema(description = "nedrug에 의약품 정보가 없는지 여부", example = "false")
+  private boolean missing;
+
+  @Schema(description = "html 없이 이전 검증값으로 변경되지 않았음만 확인했는지 여부", example = "false")
+  private boolean notModified;
+}
@@ -0,0 +1,27 @@
+package pocketyacsa.server.medicine.domain.redisValue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineSearchPageRedis {
+
+  @Schema(description = "전체 검색결과 개수", example = "21")
+  private int total;
+
+  @Schema(description = "검색에 사용한 방법", example = "NAME")
+  private SearchMode searchMode;
+
+  @Schema(description = "사용자와 관계없는 검색결과. 즐겨찾기 여부는 조회할 때 붙입니다.")
+  private List<MedicineSearchRedis> medicines;
+}
@@ -0,0 +1,86 @@
+package pocketyacsa.server.medicine.domain.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+/**
+ * 의약품 검색결과의 다음 페이지를 조회하기 위한 cursor. 이전 페이지 마지막 검색결과의 정렬값(점수, id)을 담아
+ * elasticsearch의 search_after로 넘기므로, 몇 번째 페이지를 조회하든 앞 페이지를 건너뛰는 비용이 없습니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SearchCursor {
+
+  private static final String DELIMITER = ":";
+
+  /**
+   * 첫 페이지를 검색한 필드. 다음 페이지도 같은 필드에서 검색해야 순서가 이어집니다.
+   */
+  private SearchMode mode;
+
+  /**
+   * 마지막으로 조회한 페이지 번호
+   */
+  private int page;
+
+  /**
+   * 첫 페이지에서 센 전체 검색결과 개수
+   */
+  private int total;
+
+  private float score;
+
+  private int id;
+
+  /**
+   * search_after에 넘길 정렬값을 반환합니다.
+   *
+   * @return 점수, id
+   */
+  public List<Object> getSearchAfter() {
+    return List.of(score, id);
+  }
+
+  /**
+   * 클라이언트에 전달할 문자열로 변환합니다.
+   *
+   * @return base64url로 인코딩한 cursor
+   */
+  public String encode() {
+    String value = String.join(DELIMITER, mode.name(), String.valueOf(page),
+        String.valueOf(total), String.valueOf(score), String.valueOf(id));
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 클라이언트가 보낸 cursor 문자열을 읽습니다.
+   *
+   * @param cursor encode로 만든 문자열
+   * @return cursor
+   * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+   */
+  public static SearchCursor decode(String cursor) {
+    String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+        .split(DELIMITER);
+    if (values.length != 5) {
+      throw new IllegalArgumentException("cursor 형식이 올바르지 않습니다.");
+    }
+
+    return SearchCursor.builder()
+        .mode(SearchMode.valueOf(values[0]))
+        .page(Integer.parseInt(values[1]))
+        .total(Integer.parseInt(values[2]))
+        .score(Float.parseFloat(values[3]))
+        .id(Integer.parseInt(values[4]))
+        .build();
+  }
+}
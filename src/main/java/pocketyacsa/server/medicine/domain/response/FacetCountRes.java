@@ -0,0 +1,22 @@
+package pocketyacsa.server.medicine.domain.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class FacetCountRes {
+
+  @Schema(description = "제약회사나 성분 이름", example = "(주)한국로슈")
+  private String value;
+
+  @Schema(description = "검색결과 중 해당하는 의약품 개수", example = "4")
+  private long count;
+}
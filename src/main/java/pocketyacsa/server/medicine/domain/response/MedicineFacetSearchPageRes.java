@@ -0,0 +1,39 @@
+package pocketyacsa.server.medicine.domain.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineFacetSearchPageRes {
+
+  @Schema(description = "조건에 맞는 전체 검색결과 개수", example = "4")
+  private int total;
+
+  @Schema(description = "전체 페이지 개수", example = "1")
+  private int totalPage;
+
+  @Schema(description = "현재 페이지 번호", example = "1")
+  private int page;
+
+  @Schema(description = "마지막 페이지 여부", example = "true",
+      allowableValues = {"true", "false"})
+  private boolean lastPage;
+
+  @Schema(description = "검색결과")
+  private List<MedicineSearchRes> medicineSearchList;
+
+  @Schema(description = "성분 조건에 맞는 검색결과의 제약회사별 의약품 개수. 개수가 많은 순서로 최대 FACET_SIZE개")
+  private List<FacetCountRes> companies;
+
+  @Schema(description = "제약회사 조건에 맞는 검색결과의 성분별 의약품 개수. 개수가 많은 순서로 최대 FACET_SIZE개")
+  private List<FacetCountRes> ingredients;
+}
@@ -2,11 +2,13 @@ package pocketyacsa.server.medicine.domain.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
 
 @Getter
 @Builder
@@ -50,4 +52,12 @@ public class MedicineRes {
 
   @Schema(description = "즐겨찾기 여부", example = "false")
   private boolean isFavorite;
+
+  @Schema(description = "의약품 정보별 조회 결과. TIMEOUT, FAILED인 정보는 빈 문자열로 제공됩니다.",
+      example = "{\n"
+          + "    \"EFFECT\": \"OK\",\n"
+          + "    \"USAGES\": \"OK\",\n"
+          + "    \"PRECAUTIONS\": \"TIMEOUT\"\n"
+          + "  }")
+  private Map<MedicineSection, SectionStatus> sectionStatus;
 }
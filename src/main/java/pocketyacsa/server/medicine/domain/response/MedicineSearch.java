@@ -1,28 +1,72 @@
 package pocketyacsa.server.medicine.domain.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
+import pocketyacsa.server.common.utility.HangulUtils;
 
 @Document(indexName = "medicine")
+@Setting(settingPath = "elasticsearch/medicine-settings.json")
 @Getter
 @Builder
 @EqualsAndHashCode
 public class MedicineSearch {
 
   @Schema(description = "의약품의 id", example = "1")
+  @Field(type = FieldType.Integer)
   private int id;
 
   @Schema(description = "의약품의 이름", example = "타미플루")
+  @MultiField(mainField = @Field(type = FieldType.Text), otherFields = @InnerField(
+      suffix = "autocomplete", type = FieldType.Text,
+      analyzer = "autocomplete_index", searchAnalyzer = "autocomplete_search"))
   private String name;
 
   @Schema(description = "제약회사", example = "화이자")
+  @MultiField(mainField = @Field(type = FieldType.Text), otherFields = @InnerField(
+      suffix = "facet", type = FieldType.Keyword, normalizer = "facet_normalizer"))
   private String company;
 
   @Schema(description = "의약품 이미지 주소",
       defaultValue = "https://kr.object.ncloudstorage.com/yacsa/medicine-image/img_not-exist.jpg")
   private String image;
 
+  @Schema(description = "의약품 이름의 초성", example = "ㅌㅁㅍㄹ")
+  @Field(type = FieldType.Text, analyzer = "hangul_index", searchAnalyzer = "hangul_search")
+  private String nameChoseong;
+
+  @Schema(description = "자모 단위로 나눈 의약품 이름", example = "ㅌㅏㅁㅣㅍㅡㄹㄹㅜ")
+  @Field(type = FieldType.Text, analyzer = "hangul_index", searchAnalyzer = "hangul_search")
+  private String nameJamo;
+
+  @Schema(description = "의약품 이름의 글자 수. 자동완성에서 짧은 이름을 먼저 보여주는 데 사용합니다.",
+      example = "4")
+  @Field(type = FieldType.Integer)
+  private Integer nameLength;
+
+  @Schema(description = "의약품의 성분 이름", example = "[\"아세트아미노펜\"]")
+  @Field(type = FieldType.Keyword, normalizer = "facet_normalizer")
+  private List<String> ingredients;
+
+  /**
+   * name을 지정할 때 초성, 자모, 글자 수 필드를 함께 채워서 색인할 때마다 빠뜨리지 않도록 합니다.
+   */
+  public static class MedicineSearchBuilder {
+
+    public MedicineSearchBuilder name(String name) {
+      this.name = name;
+      this.nameChoseong = name == null ? null : HangulUtils.choseong(name);
+      this.nameJamo = name == null ? null : HangulUtils.jamo(name);
+      this.nameLength = name == null ? null : name.length();
+      return this;
+    }
+  }
 }
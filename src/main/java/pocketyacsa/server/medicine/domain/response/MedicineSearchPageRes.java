@@ -55,4 +55,12 @@ public class MedicineSearchPageRes {
       + "    }\n"
       + "  ]")
   private List<MedicineSearchRes> medicineSearchList;
+
+  @Schema(description = "검색에 사용한 방법. 검색결과가 없어서 오타를 허용해 다시 검색했으면 FUZZY",
+      example = "NAME", allowableValues = {"NAME", "CHOSEONG", "JAMO", "FUZZY"})
+  private SearchMode searchMode;
+
+  @Schema(description = "다음 페이지를 조회할 cursor. 마지막 페이지이거나 cursor로 조회하지 않았으면 null",
+      example = "TkFNRToxOjIxOjEuNzU6NTg0Ng")
+  private String nextCursor;
 }
@@ -0,0 +1,28 @@
+package pocketyacsa.server.medicine.domain.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineSectionRes {
+
+  @Schema(description = "의약품 정보의 종류", example = "EFFECT",
+      allowableValues = {"EFFECT", "USAGES", "PRECAUTIONS"})
+  private MedicineSection section;
+
+  @Schema(description = "의약품 정보 html", example = "<p>감기에 좋습니다</p>")
+  private String content;
+
+  @Schema(description = "의약품 정보 조회 결과", example = "OK",
+      allowableValues = {"OK", "TIMEOUT", "FAILED"})
+  private SectionStatus status;
+}
@@ -0,0 +1,44 @@
+package pocketyacsa.server.medicine.domain.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MedicineSummaryRes {
+
+  @Schema(description = "의약품의 id", example = "1")
+  private int id;
+
+  @Schema(description = "의약품의 code", example = "1")
+  private String code;
+
+  @Schema(description = "의약품의 이름", example = "타미플루")
+  private String name;
+
+  @Schema(description = "의약품의 제약회사", example = "화이자")
+  private String company;
+
+  @Schema(description = "의약품의 성분", example = " [\n"
+      + "    \"구연산칼륨\",\n"
+      + "    \"포도당\",\n"
+      + "    \"염화나트륨\",\n"
+      + "    \"구연산나트륨\"\n"
+      + "  ]")
+  private List<String> ingredient;
+
+  @Schema(description = "의약품 이미지 주소",
+      example = "https://kr.object.ncloudstorage.com/yacsa/medicine-image/img_not-exist.jpg")
+  private String image;
+
+  @Schema(description = "즐겨찾기 여부", example = "false")
+  private boolean isFavorite;
+}
@@ -0,0 +1,29 @@
+package pocketyacsa.server.medicine.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class NedrugHtmlRes {
+
+  /**
+   * 의약품 정보 html. notModified인 경우 null
+   */
+  private String html;
+
+  private String etag;
+
+  private String lastModified;
+
+  /**
+   * 조건부 요청에 nedrug가 304 Not Modified로 응답했는지 여부
+   */
+  private boolean notModified;
+}
@@ -0,0 +1,14 @@
+package pocketyacsa.server.medicine.domain.response;
+
+/**
+ * 의약품 검색에 사용한 필드
+ */
+public enum SearchMode {
+  NAME,
+  CHOSEONG,
+  JAMO,
+  /**
+   * 다른 방법으로 검색결과가 없을 때 오타를 허용해서 name 필드를 검색합니다.
+   */
+  FUZZY
+}
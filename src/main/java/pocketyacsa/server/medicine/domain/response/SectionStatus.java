@@ -0,0 +1,7 @@
+package pocketyacsa.server.medicine.domain.response;
+
+public enum SectionStatus {
+  OK,
+  TIMEOUT,
+  FAILED
+}
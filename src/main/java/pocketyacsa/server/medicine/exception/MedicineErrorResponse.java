@@ -4,6 +4,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static pocketyacsa.server.common.exception.handler.ErrorResponse.of;
 
 import lombok.AllArgsConstructor;
@@ -23,6 +24,12 @@ public enum MedicineErrorResponse {
       of("SEARCH_LOG_NOT_EXIST", BAD_REQUEST, "검색기록이 존재하지 않습니다.")),
   MEDICINE_NOT_DETECT(
       of("MEDICINE_NOT_DETECT", BAD_REQUEST, "의약품을 탐지하지 못했습니다.")),
+  SECTION_NOT_EXIST(
+      of("SECTION_NOT_EXIST", BAD_REQUEST, "존재하지 않는 의약품 정보 종류입니다.")),
+  MEDICINE_IDS_OUT_OF_RANGE(
+      of("MEDICINE_IDS_OUT_OF_RANGE", BAD_REQUEST, "한 번에 조회할 수 있는 의약품 개수를 벗어납니다.")),
+  SEARCH_CURSOR_INVALID(
+      of("SEARCH_CURSOR_INVALID", BAD_REQUEST, "검색결과 cursor가 올바르지 않습니다.")),
 
   // 403 FORBIDDEN
   FAVORITE_NO_PERMISSION(
@@ -46,7 +53,13 @@ public enum MedicineErrorResponse {
 
   // 409 CONFLICT
   FAVORITE_ALREADY_EXIST(
-      of("FAVORITE_ALREADY_EXIST", CONFLICT, "이미 즐겨찾기에 추가했습니다."));
+      of("FAVORITE_ALREADY_EXIST", CONFLICT, "이미 즐겨찾기에 추가했습니다.")),
+
+  // 503 SERVICE_UNAVAILABLE
+  SECTION_UNAVAILABLE(
+      of("SECTION_UNAVAILABLE", SERVICE_UNAVAILABLE, "의약품 정보를 불러오지 못했습니다.")),
+  SEARCH_FACET_UNAVAILABLE(
+      of("SEARCH_FACET_UNAVAILABLE", SERVICE_UNAVAILABLE, "제약회사, 성분 검색을 준비하고 있습니다."));
 
   private ErrorResponse errorResponse;
 }
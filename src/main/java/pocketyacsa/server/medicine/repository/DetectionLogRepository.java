@@ -1,8 +1,12 @@
 package pocketyacsa.server.medicine.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pocketyacsa.server.medicine.domain.entity.DetectionLog;
 
@@ -14,4 +18,9 @@ public interface DetectionLogRepository extends JpaRepository<DetectionLog, Inte
   List<DetectionLog> findByMemberId(int memberId, PageRequest pageable);
 
   void deleteByMemberId(int memberId);
+
+  @Query("SELECT d.medicine.code AS code, COUNT(d) AS count FROM DetectionLog d "
+      + "WHERE d.createdAt >= :since GROUP BY d.medicine.code ORDER BY COUNT(d) DESC")
+  List<MedicineCount> countByMedicineSince(@Param("since") LocalDateTime since,
+      Pageable pageable);
 }
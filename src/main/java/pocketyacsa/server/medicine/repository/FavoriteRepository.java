@@ -1,7 +1,10 @@
 package pocketyacsa.server.medicine.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +17,11 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Integer> {
 
   boolean existsByMemberIdAndMedicineId(int memberId, int medicineId);
 
+  @Query("SELECT f.medicine.id FROM Favorite f "
+      + "WHERE f.member.id = :memberId AND f.medicine.id IN :medicineIds")
+  List<Integer> findMedicineIdsByMemberIdAndMedicineIdIn(@Param("memberId") int memberId,
+      @Param("medicineIds") Collection<Integer> medicineIds);
+
   int countByMemberId(int memberId);
 
   List<Favorite> findByMemberId(int memberId, PageRequest pageable);
@@ -23,4 +31,9 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Integer> {
   @Modifying
   @Query("DELETE FROM Favorite f WHERE f.member.id = :memberId AND f.medicine.id = :medicineId")
   void deleteByMemberIdAndMedicineId(@Param("memberId") int memberId, @Param("medicineId") int medicineId);
+
+  @Query("SELECT f.medicine.code AS code, COUNT(f) AS count FROM Favorite f "
+      + "WHERE f.createdAt >= :since GROUP BY f.medicine.code ORDER BY COUNT(f) DESC")
+  List<MedicineCount> countByMedicineSince(@Param("since") LocalDateTime since,
+      Pageable pageable);
 }
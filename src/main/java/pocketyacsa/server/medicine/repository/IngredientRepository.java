@@ -0,0 +1,13 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pocketyacsa.server.medicine.domain.entity.Ingredient;
+
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Integer> {
+
+  List<Ingredient> findByNameIn(Collection<String> names);
+}
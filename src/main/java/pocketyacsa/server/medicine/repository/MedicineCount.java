@@ -0,0 +1,8 @@
+package pocketyacsa.server.medicine.repository;
+
+public interface MedicineCount {
+
+  String getCode();
+
+  long getCount();
+}
@@ -0,0 +1,20 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pocketyacsa.server.medicine.domain.entity.MedicineDocument;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+
+@Repository
+public interface MedicineDocumentRepository extends JpaRepository<MedicineDocument, Integer> {
+
+  Optional<MedicineDocument> findByCodeAndSection(String code, MedicineSection section);
+
+  List<MedicineDocument> findByCode(String code);
+
+  List<MedicineDocument> findByGzipContentIsNullAndIdGreaterThanOrderByIdAsc(int id,
+      Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package pocketyacsa.server.medicine.repository;
+
+/**
+ * medicine index에 색인할 컬럼만 조회하기 위한 projection
+ */
+public interface MedicineIndexRow {
+
+  int getId();
+
+  String getName();
+
+  String getCompany();
+
+  String getImage();
+}
@@ -0,0 +1,11 @@
+package pocketyacsa.server.medicine.repository;
+
+/**
+ * medicine id와 성분 이름을 함께 조회하기 위한 projection
+ */
+public interface MedicineIngredientName {
+
+  int getMedicineId();
+
+  String getName();
+}
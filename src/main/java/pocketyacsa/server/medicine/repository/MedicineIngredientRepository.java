@@ -0,0 +1,36 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pocketyacsa.server.medicine.domain.entity.Medicine;
+import pocketyacsa.server.medicine.domain.entity.MedicineIngredient;
+
+@Repository
+public interface MedicineIngredientRepository extends JpaRepository<MedicineIngredient, Integer> {
+
+  @Query("SELECT i.name FROM MedicineIngredient mi JOIN mi.ingredient i "
+      + "WHERE mi.medicine.id = :medicineId ORDER BY mi.position")
+  List<String> findIngredientNamesByMedicineId(@Param("medicineId") int medicineId);
+
+  @Query("SELECT mi.medicine.id AS medicineId, i.name AS name "
+      + "FROM MedicineIngredient mi JOIN mi.ingredient i "
+      + "WHERE mi.medicine.id IN :medicineIds ORDER BY mi.medicine.id, mi.position")
+  List<MedicineIngredientName> findIngredientNamesByMedicineIdIn(
+      @Param("medicineIds") Collection<Integer> medicineIds);
+
+  @Modifying
+  @Query("DELETE FROM MedicineIngredient mi WHERE mi.medicine.id IN :medicineIds")
+  void deleteByMedicineIdIn(@Param("medicineIds") Collection<Integer> medicineIds);
+
+  int countByIngredientName(String name);
+
+  @Query("SELECT m FROM MedicineIngredient mi JOIN mi.medicine m JOIN mi.ingredient i "
+      + "WHERE i.name = :name ORDER BY m.id")
+  List<Medicine> findMedicinesByIngredientName(@Param("name") String name, Pageable pageable);
+}
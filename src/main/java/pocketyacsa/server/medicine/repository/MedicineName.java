@@ -0,0 +1,11 @@
+package pocketyacsa.server.medicine.repository;
+
+/**
+ * medicine의 code와 이름만 조회하기 위한 projection
+ */
+public interface MedicineName {
+
+  String getCode();
+
+  String getName();
+}
@@ -0,0 +1,17 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pocketyacsa.server.medicine.domain.entity.MedicineOutbox;
+
+@Repository
+public interface MedicineOutboxRepository extends JpaRepository<MedicineOutbox, Long> {
+
+  @Query("SELECT o FROM MedicineOutbox o WHERE o.retryAt <= :now ORDER BY o.id ASC")
+  List<MedicineOutbox> findReady(@Param("now") LocalDateTime now, Pageable pageable);
+}
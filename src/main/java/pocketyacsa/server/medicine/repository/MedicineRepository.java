@@ -1,7 +1,12 @@
 package pocketyacsa.server.medicine.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pocketyacsa.server.medicine.domain.entity.Medicine;
 
@@ -9,4 +14,17 @@ import pocketyacsa.server.medicine.domain.entity.Medicine;
 public interface MedicineRepository extends JpaRepository<Medicine, Integer> {
 
   Optional<Medicine> findByCode(String code);
+
+  List<Medicine> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+
+  @Query("SELECT m.code AS code, m.name AS name FROM Medicine m")
+  List<MedicineName> findAllNames();
+
+  @Query("SELECT m.id AS id, m.name AS name, m.company AS company, m.image AS image "
+      + "FROM Medicine m WHERE m.id > :id ORDER BY m.id ASC")
+  List<MedicineIndexRow> findIndexRowsByIdGreaterThan(@Param("id") int id, Pageable pageable);
+
+  @Query("SELECT m.id AS id, m.name AS name, m.company AS company, m.image AS image "
+      + "FROM Medicine m WHERE m.id IN :ids")
+  List<MedicineIndexRow> findIndexRowsByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -5,9 +5,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import pocketyacsa.server.medicine.domain.response.MedicineSearch;
 
-public interface MedicineSearchRepository extends ElasticsearchRepository<MedicineSearch, Integer> {
-
-  int countByName(String name);
+public interface MedicineSearchRepository extends ElasticsearchRepository<MedicineSearch, Integer>,
+    MedicineSearchRepositoryCustom {
 
   public List<MedicineSearch> findByName(String name, Pageable pageable);
 }
@@ -0,0 +1,116 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+public interface MedicineSearchRepositoryCustom {
+
+  String COMPANY_FACET = "companies";
+
+  String INGREDIENT_FACET = "ingredients";
+
+  /**
+   * facet 값마다 화면에 보일 값을 담은 문서 하나를 받아오는 top_hits aggregation의 이름
+   */
+  String FACET_VALUE = "value";
+
+  /**
+   * findByName과 같은 조건으로 검색하고, 검색결과와 전체 개수를 한 번의 요청으로 함께 반환합니다.
+   *
+   * @param name     의약품 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수
+   */
+  Page<MedicineSearch> searchByName(String name, Pageable pageable);
+
+  /**
+   * name.autocomplete 필드에서 검색어로 시작하는 의약품 이름을 최대 size개 반환합니다. 점수를 계산하지 않고 이름만
+   * 받아옵니다.
+   *
+   * @param keyword 입력중인 검색어
+   * @param size    최대 개수
+   * @return 의약품 이름
+   */
+  List<String> suggestNames(String keyword, int size);
+
+  /**
+   * 미리 색인해둔 초성 필드에서 초성 검색어로 시작하는 의약품을 검색하고, 검색결과와 전체 개수를 함께 반환합니다.
+   *
+   * @param choseong HangulUtils.choseong으로 변환한 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수
+   */
+  Page<MedicineSearch> searchByChoseong(String choseong, Pageable pageable);
+
+  /**
+   * 미리 색인해둔 자모 필드에서 자모 검색어로 시작하는 의약품을 검색하고, 검색결과와 전체 개수를 함께 반환합니다.
+   *
+   * @param jamo     HangulUtils.jamo로 변환한 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수
+   */
+  Page<MedicineSearch> searchByJamo(String jamo, Pageable pageable);
+
+  /**
+   * name 필드에서 오타를 허용해서 검색하고, 검색결과와 전체 개수를 함께 반환합니다. 앞 글자는 일치해야 하고, 허용하는
+   * 편집거리와 비교할 term의 개수, 검색시간이 제한되어 있습니다.
+   *
+   * @param name     의약품 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수
+   * @throws org.springframework.dao.QueryTimeoutException 검색시간이 지났거나 제때 응답을 받지 못한 경우
+   */
+  Page<MedicineSearch> searchByFuzzyName(String name, Pageable pageable);
+
+  /**
+   * 초성 필드에서 초성 검색어로 시작하는 의약품 이름을 최대 size개 반환합니다.
+   *
+   * @param choseong HangulUtils.choseong으로 변환한 검색어
+   * @param size     최대 개수
+   * @return 의약품 이름
+   */
+  List<String> suggestNamesByChoseong(String choseong, int size);
+
+  /**
+   * 자모 필드에서 자모 검색어로 시작하는 의약품 이름을 최대 size개 반환합니다.
+   *
+   * @param jamo HangulUtils.jamo로 변환한 검색어
+   * @param size 최대 개수
+   * @return 의약품 이름
+   */
+  List<String> suggestNamesByJamo(String jamo, int size);
+
+  /**
+   * name으로 검색한 결과를 제약회사와 성분으로 거르고, 제약회사별, 성분별 의약품 개수를 같은 요청에서 함께 셉니다.
+   * 제약회사별 개수는 성분 조건만, 성분별 개수는 제약회사 조건만 적용해서 셉니다. 개수는 COMPANY_FACET,
+   * INGREDIENT_FACET 이름의 filter aggregation 안에 같은 이름의 terms aggregation으로 반환하고, 값마다
+   * FACET_VALUE 이름의 top_hits aggregation에 원래 값을 담은 문서 하나를 함께 반환합니다.
+   *
+   * @param name        의약품 검색어
+   * @param companies   제약회사. 하나라도 일치하면 포함하고, 비어있으면 거르지 않습니다.
+   * @param ingredients 성분. 모두 포함하는 의약품만 남기고, 비어있으면 거르지 않습니다.
+   * @param pageable    조회할 페이지
+   * @param facetSize   제약회사, 성분별로 셀 최대 개수
+   * @return 검색결과와 전체 개수, 제약회사별, 성분별 의약품 개수
+   */
+  SearchHits<MedicineSearch> searchByFacets(String name, List<String> companies,
+      List<String> ingredients, Pageable pageable, int facetSize);
+
+  /**
+   * 검색 필드에서 이전 페이지 마지막 검색결과의 정렬값 다음부터 size개를 검색합니다. 점수가 높은 순서, 같으면
+   * id 순서로 정렬합니다. searchAfter가 null이면 첫 페이지를 검색하고 전체 개수도 함께 셉니다.
+   *
+   * @param mode        검색 필드
+   * @param keyword     검색 필드에 맞게 변환한 검색어
+   * @param searchAfter 이전 페이지 마지막 검색결과의 정렬값
+   * @param size        최대 개수
+   * @return 정렬값을 포함한 검색결과
+   * @throws org.springframework.dao.QueryTimeoutException FUZZY 검색시간이 지났거나 제때 응답을 받지 못한 경우
+   */
+  SearchHits<MedicineSearch> searchAfter(SearchMode mode, String keyword,
+      List<Object> searchAfter, int size);
+}
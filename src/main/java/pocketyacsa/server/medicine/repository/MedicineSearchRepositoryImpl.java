@@ -0,0 +1,306 @@
+package pocketyacsa.server.medicine.repository;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.Fuzziness;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.Query;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+@RequiredArgsConstructor
+public class MedicineSearchRepositoryImpl implements MedicineSearchRepositoryCustom {
+
+  private static final String CHOSEONG_FIELD = "nameChoseong";
+
+  private static final String JAMO_FIELD = "nameJamo";
+
+  private static final String NAME_LENGTH_FIELD = "nameLength";
+
+  private static final String COMPANY_FACET_FIELD = "company.facet";
+
+  private static final String INGREDIENTS_FIELD = "ingredients";
+
+  /**
+   * 오타로 보고 허용하는 편집거리. AUTO는 term 길이가 1~2글자면 0, 3~5글자면 1, 그보다 길면 2입니다.
+   */
+  private static final Fuzziness FUZZINESS = Fuzziness.AUTO;
+
+  /**
+   * 오타가 없어야 하는 앞 글자 수. 비교할 term을 이 접두어로 시작하는 term으로 줄입니다.
+   */
+  private static final int FUZZY_PREFIX_LENGTH = 1;
+
+  /**
+   * 검색어의 term 하나마다 비교할 색인된 term의 최대 개수
+   */
+  private static final int FUZZY_MAX_EXPANSIONS = 20;
+
+  /**
+   * 오타를 허용한 검색의 shard별 검색시간. 시간이 지나면 elasticsearch는 그때까지 찾은 검색결과만 반환하고
+   * 응답의 timed_out을 true로 표시합니다.
+   */
+  private static final Duration FUZZY_TIMEOUT = Duration.ofMillis(150);
+
+  /**
+   * 오타를 허용한 검색의 응답을 기다리는 시간. shard별 검색시간에는 결과를 모으고 전송하는 시간이 포함되지 않으므로
+   * FUZZY_TIMEOUT보다 길게 잡습니다.
+   */
+  private static final Duration FUZZY_REQUEST_TIMEOUT = Duration.ofMillis(500);
+
+  private static final RequestOptions FUZZY_REQUEST_OPTIONS = RequestOptions.DEFAULT.toBuilder()
+      .setRequestConfig(RequestConfig.custom()
+          .setConnectTimeout((int) FUZZY_REQUEST_TIMEOUT.toMillis())
+          .setSocketTimeout((int) FUZZY_REQUEST_TIMEOUT.toMillis())
+          .build())
+      .build();
+
+  /**
+   * 점수가 같은 검색결과의 순서가 요청마다 달라지지 않도록 id로 한 번 더 정렬합니다.
+   */
+  private static final Sort SORT = Sort.by(Order.desc("_score"), Order.asc("id"));
+
+  private final ElasticsearchOperations operations;
+  private final RestHighLevelClient client;
+
+  @Override
+  public Page<MedicineSearch> searchByName(String name, Pageable pageable) {
+    return searchPage(SearchMode.NAME, name, pageable);
+  }
+
+  @Override
+  public List<String> suggestNames(String keyword, int size) {
+    return suggest("name.autocomplete", keyword, size);
+  }
+
+  @Override
+  public Page<MedicineSearch> searchByChoseong(String choseong, Pageable pageable) {
+    return searchPage(SearchMode.CHOSEONG, choseong, pageable);
+  }
+
+  @Override
+  public Page<MedicineSearch> searchByJamo(String jamo, Pageable pageable) {
+    return searchPage(SearchMode.JAMO, jamo, pageable);
+  }
+
+  @Override
+  public Page<MedicineSearch> searchByFuzzyName(String name, Pageable pageable) {
+    return searchPage(SearchMode.FUZZY, name, pageable);
+  }
+
+  @Override
+  public SearchHits<MedicineSearch> searchByFacets(String name, List<String> companies,
+      List<String> ingredients, Pageable pageable, int facetSize) {
+    // filter context의 조건은 점수를 계산하지 않고 결과가 캐시되므로 조건을 더해도 비용이 적습니다.
+    BoolQueryBuilder companyFilter = QueryBuilders.boolQuery();
+    if (!companies.isEmpty()) {
+      companyFilter.filter(QueryBuilders.termsQuery(COMPANY_FACET_FIELD, companies));
+    }
+    BoolQueryBuilder ingredientFilter = QueryBuilders.boolQuery();
+    for (String ingredient : ingredients) {
+      ingredientFilter.filter(QueryBuilders.termQuery(INGREDIENTS_FIELD, ingredient));
+    }
+
+    // 조건은 post_filter로 검색결과에만 적용하고, 각 facet은 다른 facet의 조건만 적용해서 셉니다. 제약회사를
+    // 골라도 제약회사 facet에는 고르지 않은 제약회사가 남으므로 여러 제약회사를 함께 고를 수 있습니다.
+    NativeSearchQuery query = new NativeSearchQueryBuilder()
+        .withQuery(QueryBuilders.matchQuery("name", name).operator(Operator.AND))
+        .withFilter(QueryBuilders.boolQuery().filter(companyFilter).filter(ingredientFilter))
+        .withAggregations(
+            facet(COMPANY_FACET, COMPANY_FACET_FIELD, "company", ingredientFilter, facetSize),
+            facet(INGREDIENT_FACET, INGREDIENTS_FIELD, INGREDIENTS_FIELD, companyFilter,
+                facetSize))
+        .withPageable(pageable)
+        .withTrackTotalHits(true)
+        .build();
+    query.addSort(SORT);
+
+    return operations.search(query, MedicineSearch.class);
+  }
+
+  @Override
+  public SearchHits<MedicineSearch> searchAfter(SearchMode mode, String keyword,
+      List<Object> searchAfter, int size) {
+    // 전체 개수는 첫 페이지에서만 세고, 다음 페이지부터는 cursor에 담긴 값을 사용합니다.
+    return search(mode, keyword, PageRequest.of(0, size), searchAfter, searchAfter == null);
+  }
+
+  @Override
+  public List<String> suggestNamesByChoseong(String choseong, int size) {
+    return suggest(CHOSEONG_FIELD, choseong, size);
+  }
+
+  @Override
+  public List<String> suggestNamesByJamo(String jamo, int size) {
+    return suggest(JAMO_FIELD, jamo, size);
+  }
+
+  /**
+   * filter에 맞는 검색결과를 field 값별로 세는 aggregation을 만듭니다. keyword 필드의 값은 normalizer로 소문자로
+   * 바뀌어 있으므로, 값마다 문서 하나의 sourceField를 FACET_VALUE로 함께 받아 화면에 보일 값을 찾습니다.
+   */
+  private static FilterAggregationBuilder facet(String name, String field, String sourceField,
+      QueryBuilder filter, int facetSize) {
+    return AggregationBuilders.filter(name, filter)
+        .subAggregation(AggregationBuilders.terms(name).field(field).size(facetSize)
+            .subAggregation(AggregationBuilders.topHits(FACET_VALUE).size(1)
+                .fetchSource(new String[]{sourceField}, null)));
+  }
+
+  /**
+   * 검색 필드에 맞는 조건을 만듭니다. 초성, 자모 필드는 edge n-gram으로 색인되어 접두어가 이미 term으로 저장되어
+   * 있으므로 wildcard나 prefix query 없이 term 조회만으로 찾습니다. FUZZY는 searchFuzzy에서 검색합니다.
+   */
+  private Query query(SearchMode mode, String keyword) {
+    switch (mode) {
+      case CHOSEONG:
+        return new NativeSearchQuery(
+            QueryBuilders.matchQuery(CHOSEONG_FIELD, keyword).operator(Operator.AND));
+      case JAMO:
+        return new NativeSearchQuery(
+            QueryBuilders.matchQuery(JAMO_FIELD, keyword).operator(Operator.AND));
+      default:
+        // findByName이 만드는 것과 같은 조건이므로 검색결과가 달라지지 않습니다.
+        return new CriteriaQuery(new Criteria("name").is(keyword));
+    }
+  }
+
+  /**
+   * offset으로 한 페이지를 검색합니다. cursor로 조회할 때와 같은 순서로 정렬하고, 검색결과와 전체 개수를 함께
+   * 받아옵니다.
+   */
+  private Page<MedicineSearch> searchPage(SearchMode mode, String keyword, Pageable pageable) {
+    // 기본값인 10000개를 넘는 검색결과도 정확한 전체 개수로 페이지를 계산합니다.
+    SearchHits<MedicineSearch> hits = search(mode, keyword, pageable, null, true);
+    List<MedicineSearch> content =
+        hits.stream().map(SearchHit::getContent).collect(Collectors.toList());
+    return new PageImpl<>(content, pageable, hits.getTotalHits());
+  }
+
+  private SearchHits<MedicineSearch> search(SearchMode mode, String keyword, Pageable pageable,
+      List<Object> searchAfter, boolean trackTotalHits) {
+    if (mode == SearchMode.FUZZY) {
+      return searchFuzzy(keyword, pageable, searchAfter, trackTotalHits);
+    }
+
+    Query query = query(mode, keyword);
+    query.setPageable(pageable);
+    query.addSort(SORT);
+    query.setSearchAfter(searchAfter);
+    query.setTrackTotalHits(trackTotalHits);
+    return operations.search(query, MedicineSearch.class);
+  }
+
+  /**
+   * name 필드에서 오타를 허용해서 검색합니다. 검색시간이 지난 응답은 일부 검색결과와 일부만 센 전체 개수를 담고
+   * 있는데, SearchHits에는 timed_out이 담기지 않으므로 client로 직접 검색해서 확인합니다. 시간이 지난 응답은
+   * 예외를 던져 캐시되거나 cursor에 담기지 않도록 합니다.
+   *
+   * @throws QueryTimeoutException 검색시간이 지났거나 FUZZY_REQUEST_TIMEOUT 안에 응답을 받지 못한 경우
+   */
+  private SearchHits<MedicineSearch> searchFuzzy(String keyword, Pageable pageable,
+      List<Object> searchAfter, boolean trackTotalHits) {
+    SearchSourceBuilder source = new SearchSourceBuilder()
+        .query(QueryBuilders.matchQuery("name", keyword)
+            .operator(Operator.AND)
+            .fuzziness(FUZZINESS)
+            .prefixLength(FUZZY_PREFIX_LENGTH)
+            .maxExpansions(FUZZY_MAX_EXPANSIONS)
+            .fuzzyTranspositions(true))
+        .from((int) pageable.getOffset())
+        .size(pageable.getPageSize())
+        .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+        .sort(SortBuilders.fieldSort("id").order(SortOrder.ASC))
+        .trackTotalHits(trackTotalHits)
+        .timeout(TimeValue.timeValueMillis(FUZZY_TIMEOUT.toMillis()));
+    if (searchAfter != null) {
+      source.searchAfter(searchAfter.toArray());
+    }
+    SearchRequest request = new SearchRequest(
+        operations.getIndexCoordinatesFor(MedicineSearch.class).getIndexNames()).source(source);
+
+    SearchResponse response;
+    try {
+      response = client.search(request, FUZZY_REQUEST_OPTIONS);
+    } catch (SocketTimeoutException e) {
+      throw new QueryTimeoutException("검색 응답을 제한시간 안에 받지 못했습니다.", e);
+    } catch (IOException e) {
+      throw new DataAccessResourceFailureException("elasticsearch 검색에 실패했습니다.", e);
+    }
+    if (response.isTimedOut()) {
+      throw new QueryTimeoutException("검색시간이 지나 일부 검색결과만 받았습니다.");
+    }
+
+    List<SearchHit<MedicineSearch>> content = new ArrayList<>();
+    for (org.elasticsearch.search.SearchHit hit : response.getHits()) {
+      MedicineSearch medicine = operations.getElasticsearchConverter()
+          .read(MedicineSearch.class, Document.from(hit.getSourceAsMap()));
+      content.add(new SearchHit<>(hit.getIndex(), hit.getId(), null, hit.getScore(),
+          hit.getSortValues(), null, medicine));
+    }
+    TotalHits totalHits = response.getHits().getTotalHits();
+    return new SearchHitsImpl<>(totalHits == null ? 0 : totalHits.value,
+        TotalHitsRelation.EQUAL_TO, response.getHits().getMaxScore(), null, content, null, null);
+  }
+
+  /**
+   * 검색어로 시작하는 의약품 이름을 짧은 순서, 같으면 id 순서로 반환합니다. 내장 index의 자동완성과 같은 순서입니다.
+   * 글자 수 필드가 없는 이전 index에서도 실패하지 않도록 값이 없는 문서는 뒤로 보냅니다.
+   */
+  private List<String> suggest(String field, String keyword, int size) {
+    // filter context에서 실행해서 점수를 계산하지 않고, 자동완성에 필요한 name만 받아옵니다.
+    NativeSearchQuery query = new NativeSearchQueryBuilder()
+        .withQuery(QueryBuilders.constantScoreQuery(
+            QueryBuilders.matchQuery(field, keyword).operator(Operator.AND)))
+        .withSort(SortBuilders.fieldSort(NAME_LENGTH_FIELD).order(SortOrder.ASC)
+            .unmappedType("integer").missing("_last"))
+        .withSort(SortBuilders.fieldSort("id").order(SortOrder.ASC))
+        .withSourceFilter(new FetchSourceFilter(new String[]{"name"}, null))
+        .withPageable(PageRequest.of(0, size))
+        .withTrackTotalHits(false)
+        .build();
+
+    return operations.search(query, MedicineSearch.class).stream()
+        .map(hit -> hit.getContent().getName())
+        .collect(Collectors.toList());
+  }
+}
@@ -8,6 +8,7 @@ import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.PAGE_O
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -119,6 +120,11 @@ public class DetectionLogService {
     List<DetectionLog> detectionLogs = repository.findByMemberId(loginMember.getId(),
         PageRequest.of(page - 1, PAGE_SIZE, sort));
 
+    Set<Integer> favoriteIds = favoriteService.getFavoriteMedicineIds(loginMember.getId(),
+        detectionLogs.stream()
+            .map(detectionLog -> detectionLog.getMedicine().getId())
+            .collect(Collectors.toSet()));
+
     List<DetectionLogRes> detectionLogResList = detectionLogs.stream()
         .map(detectionLog -> DetectionLogRes.builder()
             .id(detectionLog.getId())
@@ -127,8 +133,7 @@ public class DetectionLogService {
             .medicineCompany(detectionLog.getMedicine().getCompany())
             .medicineImage(detectionLog.getMedicine().getImage())
             .createdAt(detectionLog.getCreatedAt())
-            .isFavorite(favoriteService.existsByMemberIdAndMedicineId(loginMember.getId(),
-                detectionLog.getMedicine().getId()))
+            .isFavorite(favoriteIds.contains(detectionLog.getMedicine().getId()))
             .build())
         .collect(Collectors.toList());
 
@@ -6,8 +6,12 @@ import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.FAVORI
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.FAVORITE_NOT_EXIST;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.PAGE_OUT_OF_RANGE;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -81,6 +85,22 @@ public class FavoriteService {
     return repository.existsByMemberIdAndMedicineId(memberId, medicineId);
   }
 
+  /**
+   * 여러 medicine 중 member가 즐겨찾기에 추가한 medicine의 id를 한 번의 쿼리로 반환합니다.
+   *
+   * @param memberId    member의 id
+   * @param medicineIds 확인할 medicine의 id 목록
+   * @return 즐겨찾기에 추가된 medicine의 id
+   */
+  public Set<Integer> getFavoriteMedicineIds(int memberId, Collection<Integer> medicineIds) {
+    if (medicineIds.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    return new HashSet<>(
+        repository.findMedicineIdsByMemberIdAndMedicineIdIn(memberId, medicineIds));
+  }
+
   /**
    * favorite을 삭제합니다.
    *
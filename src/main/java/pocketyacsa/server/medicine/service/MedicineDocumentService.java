@@ -0,0 +1,327 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.common.utility.HtmlCompressor;
+import pocketyacsa.server.medicine.domain.entity.MedicineDocument;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineHtmlRedis;
+import pocketyacsa.server.medicine.repository.MedicineDocumentRepository;
+
+@Slf4j
+@Service
+public class MedicineDocumentService {
+
+  private final MedicineDocumentRepository repository;
+  private final MedicineHtmlCacheService htmlCacheService;
+  private final Executor refreshExecutor;
+  private final Executor fetchExecutor;
+  private final Executor batchFetchExecutor;
+  private final Duration refreshAge;
+  private final int encodeBatchSize;
+  private final Counter hitCounter;
+  private final Counter staleCounter;
+  private final Counter missCounter;
+
+  /**
+   * 백그라운드 갱신이 진행중인 문서의 key
+   */
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  public MedicineDocumentService(
+      MedicineDocumentRepository repository,
+      MedicineHtmlCacheService htmlCacheService,
+      @Qualifier("documentRefreshExecutor") Executor refreshExecutor,
+      @Qualifier("nedrugFetchExecutor") Executor fetchExecutor,
+      @Qualifier("nedrugBatchFetchExecutor") Executor batchFetchExecutor,
+      @Value("${nedrug.document.refresh-age:7d}") Duration refreshAge,
+      @Value("${nedrug.document.encode-batch-size:100}") int encodeBatchSize,
+      MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.htmlCacheService = htmlCacheService;
+    this.refreshExecutor = refreshExecutor;
+    this.fetchExecutor = fetchExecutor;
+    this.batchFetchExecutor = batchFetchExecutor;
+    this.refreshAge = refreshAge;
+    this.encodeBatchSize = encodeBatchSize;
+    this.hitCounter = meterRegistry.counter("medicine.document.requests", "result", "hit");
+    this.staleCounter = meterRegistry.counter("medicine.document.requests", "result", "stale");
+    this.missCounter = meterRegistry.counter("medicine.document.requests", "result", "miss");
+  }
+
+  /**
+   * 특정 code의 의약품 정보 html을 반환합니다. 저장된 문서가 없으면 nedrug에서 받아와 저장하고, 저장된 문서가
+   * refreshAge보다 오래되었으면 저장된 문서를 반환한 뒤 백그라운드에서 갱신합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return 의약품 정보의 html 문자열
+   * @throws RuntimeException 저장된 문서가 없고 nedrug에서도 받아오지 못한 경우
+   */
+  public String getDocument(String code, MedicineSection section) {
+    return getStoredDocument(code, section).getContent();
+  }
+
+  /**
+   * 특정 code의 저장된 의약품 문서를 반환합니다. 저장된 문서가 없으면 nedrug에서 받아와 저장하고, 저장된 문서가
+   * refreshAge보다 오래되었으면 저장된 문서를 반환한 뒤 백그라운드에서 갱신합니다. 압축본 없이 저장되어 있던
+   * 문서는 gzipContent가 null인 채로 반환하고, encodeMissing에서 압축합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return 저장된 의약품 문서
+   * @throws RuntimeException 저장된 문서가 없고 nedrug에서도 받아오지 못한 경우
+   */
+  public MedicineDocument getStoredDocument(String code, MedicineSection section) {
+    Optional<MedicineDocument> document = repository.findByCodeAndSection(code, section);
+    if (document.isEmpty()) {
+      missCounter.increment();
+      return fetchAndSave(code, section);
+    }
+
+    if (isStale(document.get())) {
+      staleCounter.increment();
+      refreshAsync(code, section);
+    } else {
+      hitCounter.increment();
+    }
+
+    return document.get();
+  }
+
+  /**
+   * getDocument를 nedrugFetchExecutor에서 실행합니다. executor가 가득 찬 경우 실패한 future를 반환합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return 의약품 정보의 html 문자열을 담을 future
+   */
+  public CompletableFuture<String> getDocumentAsync(String code, MedicineSection section) {
+    return getDocumentAsync(code, section, fetchExecutor);
+  }
+
+  /**
+   * getDocument를 여러 의약품을 한 번에 조회하는 요청의 executor에서 실행합니다. executor가 가득 찬 경우 실패한
+   * future를 반환합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return 의약품 정보의 html 문자열을 담을 future
+   */
+  public CompletableFuture<String> getBatchDocumentAsync(String code, MedicineSection section) {
+    return getDocumentAsync(code, section, batchFetchExecutor);
+  }
+
+  private CompletableFuture<String> getDocumentAsync(String code, MedicineSection section,
+      Executor executor) {
+    try {
+      return CompletableFuture.supplyAsync(() -> getDocument(code, section), executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * 저장된 문서가 refreshAge보다 오래되었는지 확인합니다.
+   *
+   * @param document 저장된 의약품 문서
+   * @return 갱신이 필요한지 여부
+   */
+  public boolean isStale(MedicineDocument document) {
+    return isStale(document, Duration.ZERO);
+  }
+
+  /**
+   * 저장된 문서가 margin 이내에 refreshAge보다 오래되는지 확인합니다.
+   *
+   * @param document 저장된 의약품 문서
+   * @param margin   미리 갱신할 여유 시간
+   * @return 갱신이 필요한지 여부
+   */
+  public boolean isStale(MedicineDocument document, Duration margin) {
+    return document.getFetchedAt() == null
+        || document.getFetchedAt().plus(refreshAge).minus(margin).isBefore(LocalDateTime.now());
+  }
+
+  /**
+   * 특정 code의 문서가 저장되어 있고 margin 이후에도 갱신이 필요 없는지 확인합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @param margin  미리 갱신할 여유 시간
+   * @return 문서가 충분히 최신인지 여부
+   */
+  public boolean isFresh(String code, MedicineSection section, Duration margin) {
+    return repository.findByCodeAndSection(code, section)
+        .map(document -> !isStale(document, margin))
+        .orElse(false);
+  }
+
+  /**
+   * 문서를 백그라운드에서 갱신합니다. 같은 문서의 갱신이 이미 진행중이면 무시합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   */
+  public void refreshAsync(String code, MedicineSection section) {
+    String key = code + section.getSuffix();
+    if (!refreshing.add(key)) {
+      return;
+    }
+
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          refresh(code, section);
+        } catch (RuntimeException e) {
+          log.warn("의약품 문서 갱신 실패 code={}, section={}", code, section, e);
+        } finally {
+          refreshing.remove(key);
+        }
+      });
+    } catch (TaskRejectedException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  /**
+   * 의약품 html 캐시 또는 nedrug에서 문서를 다시 받아와 저장된 문서를 갱신합니다. 저장된 문서의 ETag,
+   * Last-Modified로 조건부 요청을 보내고, 변경되지 않았으면 받아온 시각만 갱신합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   */
+  public void refresh(String code, MedicineSection section) {
+    Optional<MedicineDocument> stored = repository.findByCodeAndSection(code, section);
+    MedicineHtmlRedis validators = stored
+        .map(document -> MedicineHtmlRedis.builder()
+            .etag(document.getEtag())
+            .lastModified(document.getLastModified())
+            .contentHash(document.getContentHash())
+            .build())
+        .orElse(null);
+
+    save(code, section, htmlCacheService.getHtml(code, section, validators));
+  }
+
+  private MedicineDocument fetchAndSave(String code, MedicineSection section) {
+    return save(code, section, htmlCacheService.getHtml(code, section));
+  }
+
+  /**
+   * html을 정리하고 압축한 뒤 저장합니다. 저장된 문서와 내용이 같으면 검증값과 받아온 시각만 갱신하고, nedrug에
+   * 없는 문서는 저장하지 않습니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @param html    받아온 의약품 정보 html
+   * @return 저장된 의약품 문서
+   */
+  private MedicineDocument save(String code, MedicineSection section, MedicineHtmlRedis html) {
+    Optional<MedicineDocument> stored = repository.findByCodeAndSection(code, section);
+    LocalDateTime fetchedAt = LocalDateTime.parse(html.getFetchedAt());
+    if (html.isMissing()) {
+      // nedrug에 없는 문서는 저장하지 않고, 이미 저장된 문서가 있으면 유지합니다.
+      return stored.orElseGet(() -> MedicineDocument.builder()
+          .code(code)
+          .section(section)
+          .content("")
+          .gzipContent(HtmlCompressor.gzip(""))
+          .fetchedAt(fetchedAt)
+          .build());
+    }
+
+    MedicineDocument document = stored
+        .orElseGet(() -> MedicineDocument.builder().code(code).section(section).build());
+    boolean unchanged = stored.isPresent() && (html.isNotModified()
+        || Objects.equals(html.getContentHash(), document.getContentHash()));
+    if (!unchanged) {
+      String content = HtmlCompressor.sanitize(html.getHtml());
+      document.refresh(content, HtmlCompressor.gzip(content), html.getContentHash(), fetchedAt);
+    } else if (document.getGzipContent() == null) {
+      encode(document);
+    }
+    document.revalidate(html.getEtag(), html.getLastModified(), fetchedAt);
+
+    try {
+      repository.save(document);
+    } catch (DataIntegrityViolationException e) {
+      // 다른 요청이 먼저 같은 문서를 저장한 경우
+      log.debug("의약품 문서가 이미 저장되어 있습니다. code={}, section={}", code, section);
+    }
+
+    return document;
+  }
+
+  /**
+   * 애플리케이션이 시작되면 백그라운드에서 압축본 없이 저장되어 있던 문서를 압축합니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void encodeOnStartup() {
+    try {
+      refreshExecutor.execute(this::encodeMissing);
+    } catch (RejectedExecutionException e) {
+      log.warn("의약품 문서 압축을 시작하지 못했습니다.", e);
+    }
+  }
+
+  /**
+   * 압축본 없이 저장되어 있던 문서를 encodeBatchSize씩 정리하고 압축해서 다시 저장합니다. 요청을 처리하는 중에는
+   * 문서를 변환하지 않으므로 이 작업과 문서 갱신에서만 압축합니다. 같은 문서는 같은 결과로 압축되므로 여러
+   * 인스턴스에서 함께 실행되어도 됩니다.
+   */
+  public void encodeMissing() {
+    int lastId = 0;
+    int encoded = 0;
+    try {
+      while (true) {
+        List<MedicineDocument> documents = repository
+            .findByGzipContentIsNullAndIdGreaterThanOrderByIdAsc(lastId,
+                PageRequest.of(0, encodeBatchSize));
+        if (documents.isEmpty()) {
+          break;
+        }
+
+        documents.forEach(this::encode);
+        repository.saveAll(documents);
+        encoded += documents.size();
+        lastId = documents.get(documents.size() - 1).getId();
+      }
+      if (encoded > 0) {
+        log.info("의약품 문서 압축 완료 documents={}", encoded);
+      }
+    } catch (RuntimeException e) {
+      log.warn("의약품 문서 압축 실패 documents={}", encoded, e);
+    }
+  }
+
+  /**
+   * 압축본 없이 저장되어 있던 문서를 정리하고 압축합니다. 저장은 호출한 쪽에서 합니다.
+   *
+   * @param document 저장된 의약품 문서
+   */
+  private void encode(MedicineDocument document) {
+    String content = HtmlCompressor.sanitize(document.getContent());
+    document.refresh(content, HtmlCompressor.gzip(content), document.getContentHash(),
+        document.getFetchedAt());
+  }
+}
@@ -0,0 +1,258 @@
+package pocketyacsa.server.medicine.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import pocketyacsa.server.common.exception.CacheLoadTimeoutException;
+import pocketyacsa.server.common.exception.CircuitOpenException;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineHtmlRedis;
+import pocketyacsa.server.medicine.domain.response.NedrugHtmlRes;
+
+@Slf4j
+@Service
+public class MedicineHtmlCacheService {
+
+  /**
+   * 자신이 획득한 lock일 때만 삭제하는 script
+   */
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  private static final long LOCK_POLL_MILLIS = 50;
+
+  private final NedrugService nedrugService;
+  private final RedisTemplate<String, MedicineHtmlRedis> redisTemplate;
+  private final StringRedisTemplate lockTemplate;
+  private final Duration ttl;
+  private final Duration ttlJitter;
+  private final Duration staleTtl;
+  private final Duration lockTtl;
+  private final Duration lockWait;
+  private final Duration negativeTtl;
+
+  public MedicineHtmlCacheService(
+      NedrugService nedrugService,
+      RedisTemplate<String, MedicineHtmlRedis> redisTemplate,
+      StringRedisTemplate lockTemplate,
+      @Value("${nedrug.cache.ttl:1d}") Duration ttl,
+      @Value("${nedrug.cache.ttl-jitter:2h}") Duration ttlJitter,
+      @Value("${nedrug.cache.stale-ttl:7d}") Duration staleTtl,
+      @Value("${nedrug.cache.lock-ttl:10s}") Duration lockTtl,
+      @Value("${nedrug.cache.lock-wait:2s}") Duration lockWait,
+      @Value("${nedrug.cache.negative-ttl:10m}") Duration negativeTtl) {
+    this.nedrugService = nedrugService;
+    this.redisTemplate = redisTemplate;
+    this.lockTemplate = lockTemplate;
+    this.ttl = ttl;
+    this.ttlJitter = ttlJitter;
+    this.staleTtl = staleTtl;
+    this.lockTtl = lockTtl;
+    this.lockWait = lockWait;
+    this.negativeTtl = negativeTtl;
+  }
+
+  /**
+   * 특정 code의 의약품 정보 html을 redis에서 반환합니다. 캐시가 오래되었으면 lock을 획득한 인스턴스 하나만 nedrug에서
+   * 다시 받아오고, 나머지 인스턴스는 오래된 캐시를 그대로 반환합니다. nedrug에 없는 의약품 정보는 negativeTtl 동안
+   * missing으로 캐시합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return 캐시된 의약품 정보 html
+   */
+  public MedicineHtmlRedis getHtml(String code, MedicineSection section) {
+    return getHtml(code, section, null);
+  }
+
+  /**
+   * 특정 code의 의약품 정보 html을 redis에서 반환합니다. 캐시가 오래되었으면 캐시 또는 validators의 ETag,
+   * Last-Modified로 조건부 요청을 보내고, 변경되지 않았으면 캐시의 유효기간만 연장합니다. 캐시 없이 validators로만
+   * 변경되지 않았음을 확인한 경우에는 html 없이 notModified로 반환합니다. 다른 인스턴스가 lock을 잡고 있으면
+   * 오래된 캐시를 반환하고, 캐시가 없으면 lockWait만큼 캐시가 채워지기를 기다립니다.
+   *
+   * @param code       medicine의 code
+   * @param section    의약품 정보의 종류
+   * @param validators 저장된 문서의 검증값, 없으면 null
+   * @return 캐시된 의약품 정보 html
+   * @throws CircuitOpenException      캐시가 없고 nedrug 호출이 차단된 경우
+   * @throws CacheLoadTimeoutException 캐시가 없고 lockWait 안에 다른 인스턴스가 채우지 못한 경우
+   */
+  public MedicineHtmlRedis getHtml(String code, MedicineSection section,
+      MedicineHtmlRedis validators) {
+    String key = htmlKey(code, section);
+    MedicineHtmlRedis cached = get(key);
+    if (cached != null && cached.getFreshUntil() > System.currentTimeMillis()) {
+      return cached;
+    }
+
+    MedicineHtmlRedis previous = cached != null ? cached : validators;
+    String token = UUID.randomUUID().toString();
+    if (tryLock(key, token)) {
+      try {
+        return fetchAndCache(key, code, section, previous);
+      } catch (RuntimeException e) {
+        if (cached != null) {
+          return cached;
+        }
+        throw e;
+      } finally {
+        unlock(key, token);
+      }
+    }
+
+    if (cached != null) {
+      return cached;
+    }
+    if (nedrugService.isCircuitOpen()) {
+      throw new CircuitOpenException("nedrug");
+    }
+
+    MedicineHtmlRedis loaded = waitForLoad(key);
+    if (loaded != null) {
+      return loaded;
+    }
+
+    // 기다리던 요청이 모두 캐시하지 않고 nedrug를 호출하지 않도록 실패로 응답합니다.
+    throw new CacheLoadTimeoutException(key);
+  }
+
+  private MedicineHtmlRedis fetch(String code, MedicineSection section,
+      MedicineHtmlRedis previous) {
+    NedrugHtmlRes html;
+    try {
+      html = previous == null
+          ? nedrugService.getHtml(code, section, null, null)
+          : nedrugService.getHtml(code, section, previous.getEtag(), previous.getLastModified());
+    } catch (HttpClientErrorException.NotFound e) {
+      return MedicineHtmlRedis.builder()
+          .html("")
+          .fetchedAt(LocalDateTime.now().toString())
+          .freshUntil(System.currentTimeMillis() + negativeTtl.toMillis())
+          .missing(true)
+          .build();
+    }
+
+    if (html.isNotModified()) {
+      return toRedisValue(previous.getHtml(), previous.getContentHash(), html,
+          previous.getHtml() == null);
+    }
+
+    String contentHash =
+        DigestUtils.md5DigestAsHex(html.getHtml().getBytes(StandardCharsets.UTF_8));
+    return toRedisValue(html.getHtml(), contentHash, html, false);
+  }
+
+  private MedicineHtmlRedis fetchAndCache(String key, String code, MedicineSection section,
+      MedicineHtmlRedis previous) {
+    MedicineHtmlRedis value = fetch(code, section, previous);
+    if (value.isNotModified()) {
+      return value;
+    }
+
+    Duration keyTtl = value.isMissing() ? negativeTtl : ttl.plus(ttlJitter).plus(staleTtl);
+    try {
+      redisTemplate.opsForValue().set(key, value, keyTtl);
+    } catch (DataAccessException e) {
+      log.warn("의약품 html 캐시 저장 실패 key={}", key, e);
+    }
+
+    return value;
+  }
+
+  /**
+   * 다른 인스턴스가 lock을 잡고 html을 받아오는 동안 lockWait만큼 캐시가 채워지기를 기다립니다.
+   *
+   * @param key 의약품 html 캐시 key
+   * @return 채워진 캐시, lockWait 안에 채워지지 않으면 null
+   */
+  private MedicineHtmlRedis waitForLoad(String key) {
+    long deadline = System.currentTimeMillis() + lockWait.toMillis();
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(LOCK_POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+
+      MedicineHtmlRedis loaded = get(key);
+      if (loaded != null) {
+        return loaded;
+      }
+    }
+
+    return null;
+  }
+
+  private MedicineHtmlRedis toRedisValue(String html, String contentHash, NedrugHtmlRes response,
+      boolean notModified) {
+    long jitter = ThreadLocalRandom.current().nextLong(ttlJitter.toMillis() + 1);
+
+    return MedicineHtmlRedis.builder()
+        .html(html)
+        .etag(response.getEtag())
+        .lastModified(response.getLastModified())
+        .contentHash(contentHash)
+        .fetchedAt(LocalDateTime.now().toString())
+        .freshUntil(System.currentTimeMillis() + ttl.toMillis() + jitter)
+        .notModified(notModified)
+        .build();
+  }
+
+  private MedicineHtmlRedis get(String key) {
+    try {
+      return redisTemplate.opsForValue().get(key);
+    } catch (DataAccessException e) {
+      log.warn("의약품 html 캐시 조회 실패 key={}", key, e);
+      return null;
+    }
+  }
+
+  private boolean tryLock(String key, String token) {
+    try {
+      Boolean locked = lockTemplate.opsForValue().setIfAbsent(lockKey(key), token, lockTtl);
+      return Boolean.TRUE.equals(locked);
+    } catch (DataAccessException e) {
+      // redis를 사용할 수 없으면 각 인스턴스가 직접 받아옵니다.
+      return true;
+    }
+  }
+
+  private void unlock(String key, String token) {
+    try {
+      lockTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey(key)), token);
+    } catch (DataAccessException e) {
+      log.warn("의약품 html 캐시 lock 해제 실패 key={}", key, e);
+    }
+  }
+
+  /**
+   * redis에 저장할 의약품 html 캐시 key를 생성합니다.
+   *
+   * @param code    medicine의 code
+   * @param section 의약품 정보의 종류
+   * @return redis에 저장할 의약품 html 캐시 key
+   */
+  private String htmlKey(String code, MedicineSection section) {
+    return "MedicineHtml " + code + section.getSuffix();
+  }
+
+  private String lockKey(String key) {
+    return key + " Lock";
+  }
+}
@@ -0,0 +1,225 @@
+package pocketyacsa.server.medicine.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+@Slf4j
+@Service
+public class MedicineIndexService {
+
+  public static final String INDEX = "medicine";
+
+  public static final String SETTINGS_PATH = "elasticsearch/medicine-settings.json";
+
+  public static final String CHOSEONG_FIELD = "nameChoseong";
+
+  public static final String JAMO_FIELD = "nameJamo";
+
+  /**
+   * 자동완성 결과를 짧은 이름부터 정렬하기 위한 name의 글자 수 필드
+   */
+  public static final String NAME_LENGTH_FIELD = "nameLength";
+
+  /**
+   * 초성, 자모 필드를 모든 문서에 채웠다는 표시로 mapping의 _meta에 남기는 값
+   */
+  public static final String HANGUL_FILLED_META = "hangulFilled";
+
+  /**
+   * 제약회사로 거르고 개수를 세기 위한 company의 keyword 하위 필드
+   */
+  public static final String COMPANY_FACET_FIELD = "company.facet";
+
+  public static final String INGREDIENTS_FIELD = "ingredients";
+
+  private static final String AUTOCOMPLETE_FIELD = "autocomplete";
+
+  private final RestHighLevelClient client;
+  private final TaskScheduler taskScheduler;
+  private final MedicineReindexService reindexService;
+  private final boolean migrateOnStartup;
+
+  /**
+   * medicine index에 name.autocomplete 필드가 있어 자동완성 검색을 사용할 수 있는지 여부
+   */
+  private volatile boolean autocompleteReady;
+
+  /**
+   * medicine index의 모든 문서에 초성, 자모 필드가 채워져 있어 초성 검색을 사용할 수 있는지 여부
+   */
+  private volatile boolean hangulReady;
+
+  /**
+   * medicine index에 제약회사, 성분 keyword 필드가 있어 검색결과를 거르고 개수를 셀 수 있는지 여부
+   */
+  private volatile boolean facetReady;
+
+  public MedicineIndexService(
+      RestHighLevelClient client,
+      TaskScheduler taskScheduler,
+      MedicineReindexService reindexService,
+      @Value("${medicine.search.migrate-on-startup:true}") boolean migrateOnStartup) {
+    this.client = client;
+    this.taskScheduler = taskScheduler;
+    this.reindexService = reindexService;
+    this.migrateOnStartup = migrateOnStartup;
+  }
+
+  /**
+   * 자동완성 검색을 사용할 수 있는지 반환합니다.
+   *
+   * @return name.autocomplete 필드 사용 가능 여부
+   */
+  public boolean isAutocompleteReady() {
+    return autocompleteReady;
+  }
+
+  /**
+   * 초성, 자모 검색을 사용할 수 있는지 반환합니다.
+   *
+   * @return nameChoseong, nameJamo 필드 사용 가능 여부
+   */
+  public boolean isHangulReady() {
+    return hangulReady;
+  }
+
+  /**
+   * 제약회사, 성분으로 거르는 검색을 사용할 수 있는지 반환합니다.
+   *
+   * @return company.facet, ingredients 필드 사용 가능 여부
+   */
+  public boolean isFacetReady() {
+    return facetReady;
+  }
+
+  /**
+   * 애플리케이션이 시작되면 백그라운드에서 medicine index의 필드를 확인합니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void prepareOnStartup() {
+    taskScheduler.schedule(this::prepareFields, Instant.now());
+  }
+
+  /**
+   * medicine index에 자동완성, 초성, 자모, 글자 수, 제약회사, 성분 필드가 있는지 확인하고, 없으면 모든 필드를 갖춘 index를
+   * 새로 만들어 medicine alias를 옮깁니다. analyzer를 추가하려면 index를 닫아야 하므로 사용중인 index를 고치지
+   * 않습니다. 새 index를 만드는 동안에도 검색은 기존 index에서 계속되고, 여러 인스턴스가 동시에 시작되어도 한
+   * 인스턴스에서만 만듭니다.
+   */
+  public void prepareFields() {
+    try {
+      Map<String, Object> mapping = getMapping();
+      Map<String, Object> properties = getProperties(mapping);
+      if ((!isMigrated(mapping) || !hasFacetFields(properties)
+          || !properties.containsKey(NAME_LENGTH_FIELD)) && migrateOnStartup) {
+        reindexService.reindex();
+        mapping = getMapping();
+      }
+      updateReady(mapping);
+    } catch (IOException | RuntimeException e) {
+      log.warn("medicine index 필드를 확인하지 못했습니다.", e);
+    }
+  }
+
+  /**
+   * 필드가 아직 준비되지 않았으면 주기적으로 다시 확인합니다. 다른 인스턴스가 필드를 추가한 경우 이 인스턴스도
+   * 새 필드로 검색하기 시작합니다.
+   */
+  @Scheduled(fixedDelayString = "${medicine.search.check-interval:PT5M}")
+  public void checkFields() {
+    if (autocompleteReady && hangulReady && facetReady) {
+      return;
+    }
+
+    try {
+      updateReady(getMapping());
+    } catch (IOException | RuntimeException e) {
+      log.debug("medicine index 필드를 확인하지 못했습니다.", e);
+    }
+  }
+
+  /**
+   * medicine index 설정 파일을 읽습니다.
+   *
+   * @return 설정 json 문자열
+   */
+  public static String readSettings() {
+    try {
+      return StreamUtils.copyToString(
+          new ClassPathResource(SETTINGS_PATH).getInputStream(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void updateReady(Map<String, Object> mapping) {
+    Map<String, Object> properties = getProperties(mapping);
+    autocompleteReady = hasAutocompleteField(properties);
+    hangulReady = hasHangulFields(properties) && isHangulFilled(mapping);
+    facetReady = hasFacetFields(properties);
+  }
+
+  private boolean isMigrated(Map<String, Object> mapping) {
+    Map<String, Object> properties = getProperties(mapping);
+    return hasAutocompleteField(properties) && hasHangulFields(properties)
+        && isHangulFilled(mapping);
+  }
+
+  private boolean hasAutocompleteField(Map<String, Object> properties) {
+    Object name = properties.get("name");
+    Object fields = name instanceof Map ? ((Map<?, ?>) name).get("fields") : null;
+    return fields instanceof Map && ((Map<?, ?>) fields).containsKey(AUTOCOMPLETE_FIELD);
+  }
+
+  private boolean hasHangulFields(Map<String, Object> properties) {
+    return properties.containsKey(CHOSEONG_FIELD) && properties.containsKey(JAMO_FIELD);
+  }
+
+  /**
+   * 새로 만든 index에만 있는 필드이므로, 필드가 있으면 모든 문서에 값이 채워져 있습니다.
+   */
+  private boolean hasFacetFields(Map<String, Object> properties) {
+    Object company = properties.get("company");
+    Object fields = company instanceof Map ? ((Map<?, ?>) company).get("fields") : null;
+    return fields instanceof Map && ((Map<?, ?>) fields).containsKey("facet")
+        && properties.containsKey(INGREDIENTS_FIELD);
+  }
+
+  private boolean isHangulFilled(Map<String, Object> mapping) {
+    Object meta = mapping.get("_meta");
+    return meta instanceof Map
+        && Boolean.TRUE.equals(((Map<?, ?>) meta).get(HANGUL_FILLED_META));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getProperties(Map<String, Object> mapping) {
+    Object properties = mapping.get("properties");
+    return properties instanceof Map ? (Map<String, Object>) properties : Map.of();
+  }
+
+  private Map<String, Object> getMapping() throws IOException {
+    Map<String, MappingMetadata> mappings = client.indices()
+        .getMapping(new GetMappingsRequest().indices(INDEX), RequestOptions.DEFAULT)
+        .mappings();
+
+    return mappings.values().stream().findFirst()
+        .map(MappingMetadata::sourceAsMap)
+        .orElse(Map.of());
+  }
+}
@@ -0,0 +1,270 @@
+package pocketyacsa.server.medicine.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pocketyacsa.server.medicine.domain.entity.Ingredient;
+import pocketyacsa.server.medicine.domain.entity.Medicine;
+import pocketyacsa.server.medicine.domain.entity.MedicineIngredient;
+import pocketyacsa.server.medicine.repository.IngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineIngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@Slf4j
+@Service
+public class MedicineIngredientService {
+
+  private static final String LOCK_KEY = "MedicineIngredient Backfill Lock";
+
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  private final MedicineRepository medicineRepository;
+  private final IngredientRepository ingredientRepository;
+  private final MedicineIngredientRepository medicineIngredientRepository;
+  private final StringRedisTemplate redisTemplate;
+  private final TaskScheduler taskScheduler;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration lockTtl;
+
+  public MedicineIngredientService(
+      MedicineRepository medicineRepository,
+      IngredientRepository ingredientRepository,
+      MedicineIngredientRepository medicineIngredientRepository,
+      StringRedisTemplate redisTemplate,
+      TaskScheduler taskScheduler,
+      PlatformTransactionManager transactionManager,
+      @Value("${medicine.ingredient.backfill-batch-size:500}") int batchSize,
+      @Value("${medicine.ingredient.backfill-lock-ttl:30m}") Duration lockTtl) {
+    this.medicineRepository = medicineRepository;
+    this.ingredientRepository = ingredientRepository;
+    this.medicineIngredientRepository = medicineIngredientRepository;
+    this.redisTemplate = redisTemplate;
+    this.taskScheduler = taskScheduler;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.lockTtl = lockTtl;
+  }
+
+  /**
+   * '|'로 구분되어 있는 ingredient 문자열을 성분별로 나눕니다. 앞뒤 공백과 빈 성분, 중복된 성분은 제외합니다.
+   *
+   * @param ingredient '|'로 구분되어 있는 ingredient 문자열
+   * @return 적혀 있던 순서대로의 성분 이름
+   */
+  public static List<String> parse(String ingredient) {
+    if (ingredient == null) {
+      return Collections.emptyList();
+    }
+
+    Set<String> names = new LinkedHashSet<>();
+    for (String name : ingredient.split("\\|")) {
+      if (!name.isBlank()) {
+        names.add(name.trim());
+      }
+    }
+
+    return new ArrayList<>(names);
+  }
+
+  /**
+   * 특정 medicine의 성분 이름을 순서대로 반환합니다. 아직 성분 테이블에 옮겨지지 않은 medicine은 ingredient
+   * 문자열을 나누어 반환합니다.
+   *
+   * @param medicine 성분을 조회할 medicine
+   * @return 성분 이름
+   */
+  public List<String> getIngredientNames(Medicine medicine) {
+    List<String> names =
+        medicineIngredientRepository.findIngredientNamesByMedicineId(medicine.getId());
+    if (names.isEmpty()) {
+      return parse(medicine.getIngredient());
+    }
+
+    return names;
+  }
+
+  /**
+   * 여러 medicine의 성분 이름을 한 번에 조회합니다. 아직 성분 테이블에 옮겨지지 않은 medicine은 ingredient
+   * 문자열을 나누어 반환합니다.
+   *
+   * @param medicines 성분을 조회할 medicine 목록
+   * @return medicine id별 성분 이름
+   */
+  public Map<Integer, List<String>> getIngredientNames(List<Medicine> medicines) {
+    Map<Integer, List<String>> names = new HashMap<>();
+    medicineIngredientRepository.findIngredientNamesByMedicineIdIn(
+            medicines.stream().map(Medicine::getId).collect(Collectors.toList()))
+        .forEach(name -> names.computeIfAbsent(name.getMedicineId(), id -> new ArrayList<>())
+            .add(name.getName()));
+    medicines.forEach(medicine ->
+        names.computeIfAbsent(medicine.getId(), id -> parse(medicine.getIngredient())));
+
+    return names;
+  }
+
+  /**
+   * 애플리케이션이 시작되면 백그라운드에서 성분 테이블을 채웁니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillOnStartup() {
+    taskScheduler.schedule(this::backfill, Instant.now());
+  }
+
+  /**
+   * 모든 medicine의 ingredient 문자열을 batchSize씩 나누어 성분 테이블과 맞춥니다. 한 인스턴스에서만 실행되며,
+   * 성분 테이블과 같은 medicine은 건너뛰므로 중단되어도 다음 실행에서 이어서 진행됩니다.
+   */
+  @Scheduled(cron = "${medicine.ingredient.backfill-cron:0 30 4 * * *}")
+  public void backfill() {
+    String token = UUID.randomUUID().toString();
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+    if (!Boolean.TRUE.equals(locked)) {
+      return;
+    }
+
+    try {
+      int lastId = 0;
+      int backfilled = 0;
+      while (true) {
+        List<Medicine> medicines = medicineRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+            PageRequest.of(0, batchSize));
+        if (medicines.isEmpty()) {
+          break;
+        }
+
+        Integer count = transactionTemplate.execute(status -> backfill(medicines));
+        backfilled += count == null ? 0 : count;
+        lastId = medicines.get(medicines.size() - 1).getId();
+      }
+      log.info("의약품 성분 테이블 갱신 완료 medicines={}", backfilled);
+    } catch (RuntimeException e) {
+      log.warn("의약품 성분 테이블 갱신 실패", e);
+    } finally {
+      redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), token);
+    }
+  }
+
+  /**
+   * 특정 medicine들의 성분 테이블을 ingredient 문자열과 바로 맞춥니다. ingredient가 바뀐 medicine을 색인하기
+   * 전에 호출해서 색인과 상세조회가 다음 backfill을 기다리지 않고 바뀐 성분을 사용하도록 합니다.
+   *
+   * @param medicineIds 맞출 medicine의 id
+   * @return 성분을 새로 추가하거나 바꾼 medicine의 개수
+   */
+  public int sync(Collection<Integer> medicineIds) {
+    if (medicineIds.isEmpty()) {
+      return 0;
+    }
+
+    Integer count = transactionTemplate.execute(
+        status -> backfill(medicineRepository.findAllById(medicineIds)));
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * medicine 하나의 batch를 성분 테이블과 맞춥니다. ingredient 문자열을 다시 나누어 성분 테이블과 다른 medicine만
+   * 기존 성분을 지우고 새로 추가합니다. 성분 사전에 없는 성분은 함께 추가합니다.
+   *
+   * @param medicines 맞출 medicine 목록
+   * @return 성분을 새로 추가하거나 바꾼 medicine의 개수
+   */
+  int backfill(List<Medicine> medicines) {
+    Map<Integer, List<String>> current = new HashMap<>();
+    medicineIngredientRepository.findIngredientNamesByMedicineIdIn(
+            medicines.stream().map(Medicine::getId).collect(Collectors.toList()))
+        .forEach(name -> current.computeIfAbsent(name.getMedicineId(), id -> new ArrayList<>())
+            .add(name.getName()));
+
+    Map<Medicine, List<String>> parsed = new LinkedHashMap<>();
+    // DB의 collation처럼 대소문자를 구분하지 않아야 같은 성분을 두 번 추가하지 않습니다.
+    Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    for (Medicine medicine : medicines) {
+      List<String> ingredients = parse(medicine.getIngredient());
+      if (!isSameIngredients(ingredients, current.getOrDefault(medicine.getId(), List.of()))) {
+        parsed.put(medicine, ingredients);
+        names.addAll(ingredients);
+      }
+    }
+    if (parsed.isEmpty()) {
+      return 0;
+    }
+
+    medicineIngredientRepository.deleteByMedicineIdIn(
+        parsed.keySet().stream().map(Medicine::getId).collect(Collectors.toList()));
+    Map<String, Ingredient> dictionary = getOrCreateIngredients(names);
+    List<MedicineIngredient> medicineIngredients = new ArrayList<>();
+    parsed.forEach((medicine, ingredients) -> {
+      for (int i = 0; i < ingredients.size(); i++) {
+        medicineIngredients.add(MedicineIngredient.builder()
+            .medicine(medicine)
+            .ingredient(dictionary.get(ingredients.get(i)))
+            .position(i)
+            .build());
+      }
+    });
+    medicineIngredientRepository.saveAll(medicineIngredients);
+
+    return parsed.size();
+  }
+
+  /**
+   * 성분 사전에는 대소문자만 다른 성분이 하나로 저장되므로 대소문자를 구분하지 않고 순서대로 비교합니다.
+   */
+  private static boolean isSameIngredients(List<String> parsed, List<String> current) {
+    if (parsed.size() != current.size()) {
+      return false;
+    }
+    for (int i = 0; i < parsed.size(); i++) {
+      if (!parsed.get(i).equalsIgnoreCase(current.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Map<String, Ingredient> getOrCreateIngredients(Set<String> names) {
+    Map<String, Ingredient> dictionary = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    if (names.isEmpty()) {
+      return dictionary;
+    }
+    ingredientRepository.findByNameIn(names)
+        .forEach(ingredient -> dictionary.put(ingredient.getName(), ingredient));
+
+    List<Ingredient> created = names.stream()
+        .filter(name -> !dictionary.containsKey(name))
+        .map(name -> Ingredient.builder().name(name).build())
+        .collect(Collectors.toList());
+    ingredientRepository.saveAll(created)
+        .forEach(ingredient -> dictionary.put(ingredient.getName(), ingredient));
+
+    return dictionary;
+  }
+}
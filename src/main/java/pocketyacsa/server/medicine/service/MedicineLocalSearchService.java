@@ -0,0 +1,454 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import pocketyacsa.server.common.utility.CircuitBreaker;
+import pocketyacsa.server.common.utility.HangulUtils;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+/**
+ * elasticsearch를 사용할 수 없을 때 대신 검색하는 애플리케이션 내장 lucene index. MySQL의 medicine 테이블로 메모리
+ * 매핑된 파일에 index를 만들고 주기적으로 다시 만듭니다. elasticsearch 호출이 연속으로 실패하거나 느리면 일정 시간
+ * 동안 elasticsearch를 호출하지 않고 이 index로 검색합니다.
+ */
+@Slf4j
+@Service
+public class MedicineLocalSearchService {
+
+  private static final String ID_FIELD = "id";
+  private static final String NAME_FIELD = "name";
+  private static final String CHOSEONG_FIELD = "nameChoseong";
+  private static final String JAMO_FIELD = "nameJamo";
+  private static final String COMPANY_FIELD = "company";
+  private static final String IMAGE_FIELD = "image";
+  private static final String NAME_LENGTH_FIELD = "nameLength";
+
+  /**
+   * 점수 대신 이름이 짧은 순서, 같으면 id 순서로 정렬합니다. 검색어로 시작하는 이름 중 짧은 이름이 검색어와 더
+   * 가깝습니다.
+   */
+  private static final Sort SORT = new Sort(new SortField(NAME_LENGTH_FIELD, SortField.Type.INT),
+      new SortField(ID_FIELD, SortField.Type.INT));
+
+  private static final int FETCH_SIZE = 1000;
+
+  private static final int FUZZY_PREFIX_LENGTH = 1;
+
+  private static final int FUZZY_MAX_EXPANSIONS = 20;
+
+  private final MedicineRepository medicineRepository;
+  private final TaskScheduler taskScheduler;
+  private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+  private final Path path;
+  private final boolean temporary;
+  private final long slowNanos;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
+
+  private Directory directory;
+  private IndexWriter writer;
+
+  /**
+   * writer와 관계없이 마지막 commit을 검색하므로, 갱신 중이거나 갱신에 실패해도 이전 index로 검색합니다.
+   */
+  private volatile SearcherManager searcherManager;
+
+  /**
+   * index를 한 번이라도 만들어서 검색할 수 있는지 여부
+   */
+  private volatile boolean ready;
+
+  public MedicineLocalSearchService(
+      MedicineRepository medicineRepository,
+      TaskScheduler taskScheduler,
+      @Value("${medicine.local-search.path:}") String path,
+      @Value("${medicine.local-search.slow-threshold:1s}") Duration slowThreshold,
+      @Value("${medicine.local-search.failure-threshold:5}") int failureThreshold,
+      @Value("${medicine.local-search.open-duration:30s}") Duration openDuration,
+      MeterRegistry meterRegistry) throws IOException {
+    this.medicineRepository = medicineRepository;
+    this.taskScheduler = taskScheduler;
+    // 같은 서버의 다른 인스턴스와 index 파일이 겹치지 않도록 기본값은 임시 디렉터리를 새로 만듭니다.
+    this.temporary = path.isEmpty();
+    this.path = temporary ? Files.createTempDirectory("medicine-index") : Path.of(path);
+    this.slowNanos = slowThreshold.toNanos();
+    this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration,
+        (from, to) -> meterRegistry.counter("medicine.search.circuit.transitions",
+            "from", from.name(), "to", to.name()).increment());
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("medicine.search.circuit.state", circuitBreaker,
+            breaker -> breaker.getState().ordinal())
+        .description("0: CLOSED, 1: OPEN, 2: HALF_OPEN")
+        .register(meterRegistry);
+  }
+
+  /**
+   * index가 만들어져 있는지 반환합니다.
+   *
+   * @return index 사용 가능 여부
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * elasticsearch로 검색하고, 실패하면 내장 index로 검색합니다. 실패하거나 slowThreshold보다 느린 호출이 연속되면
+   * 일정 시간 동안 elasticsearch를 호출하지 않고 바로 내장 index로 검색합니다. 검색시간 제한을 넘긴
+   * QueryTimeoutException은 내장 index로 검색하지만 실패로 세지 않습니다. 내장 index가 아직 만들어지지
+   * 않았으면 elasticsearch의 결과나 예외를 그대로 반환합니다.
+   *
+   * @param elasticsearch elasticsearch 검색
+   * @param local         같은 조건의 내장 index 검색
+   * @return 검색결과
+   */
+  public <T> T withFallback(Supplier<T> elasticsearch, Supplier<T> local) {
+    if (!ready) {
+      return elasticsearch.get();
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      meterRegistry.counter("medicine.search.fallback", "reason", "open").increment();
+      return local.get();
+    }
+
+    long start = System.nanoTime();
+    T result;
+    try {
+      result = elasticsearch.get();
+    } catch (QueryTimeoutException e) {
+      // 오타를 허용한 검색이 제한시간을 넘긴 것은 elasticsearch 장애가 아니므로 실패로 세지 않습니다.
+      circuitBreaker.onSuccess();
+      meterRegistry.counter("medicine.search.fallback", "reason", "timeout").increment();
+      return local.get();
+    } catch (RuntimeException e) {
+      circuitBreaker.onFailure();
+      meterRegistry.counter("medicine.search.fallback", "reason", "error").increment();
+      log.warn("elasticsearch 검색 실패, 내장 index로 검색합니다.", e);
+      return local.get();
+    }
+
+    // 느린 응답도 이번 결과는 그대로 사용하고, 계속 느리면 다음 요청부터 내장 index로 검색합니다.
+    if (System.nanoTime() - start > slowNanos) {
+      circuitBreaker.onFailure();
+    } else {
+      circuitBreaker.onSuccess();
+    }
+    return result;
+  }
+
+  /**
+   * 검색 필드에서 검색어의 단어로 모두 시작하는 의약품을 검색합니다. FUZZY는 name 필드에서 단어마다 오타를
+   * 허용해서 검색합니다.
+   *
+   * @param mode     검색 필드
+   * @param keyword  검색 필드에 맞게 변환한 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수
+   */
+  public Page<MedicineSearch> search(SearchMode mode, String keyword, Pageable pageable) {
+    Query query = query(mode, keyword);
+    // 종료하면 searcherManager가 지워지므로, searcher는 획득한 searcherManager에 반환합니다.
+    SearcherManager manager = searcherManager;
+    if (query == null || manager == null) {
+      return Page.empty(pageable);
+    }
+
+    IndexSearcher searcher;
+    try {
+      searcher = manager.acquire();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      int total = searcher.count(query);
+      int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total);
+      if (pageable.getOffset() >= end) {
+        return new PageImpl<>(List.of(), pageable, total);
+      }
+
+      TopDocs topDocs = searcher.search(query, end, SORT);
+      List<MedicineSearch> content = new ArrayList<>(end - (int) pageable.getOffset());
+      for (int i = (int) pageable.getOffset(); i < topDocs.scoreDocs.length; i++) {
+        content.add(toMedicineSearch(searcher.doc(topDocs.scoreDocs[i].doc)));
+      }
+      return new PageImpl<>(content, pageable, total);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      try {
+        manager.release(searcher);
+      } catch (IOException e) {
+        log.debug("의약품 내장 index searcher를 반환하지 못했습니다.", e);
+      }
+    }
+  }
+
+  /**
+   * 검색 필드에서 검색어로 시작하는 의약품 이름을 최대 size개 반환합니다.
+   *
+   * @param mode    검색 필드
+   * @param keyword 검색 필드에 맞게 변환한 검색어
+   * @param size    최대 개수
+   * @return 의약품 이름
+   */
+  public List<String> suggestNames(SearchMode mode, String keyword, int size) {
+    List<String> names = new ArrayList<>();
+    for (MedicineSearch medicine : search(mode, keyword, PageRequest.of(0, size))) {
+      names.add(medicine.getName());
+    }
+    return names;
+  }
+
+  /**
+   * 애플리케이션이 시작되면 백그라운드에서 index를 만듭니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    taskScheduler.schedule(this::rebuild, Instant.now());
+  }
+
+  /**
+   * MySQL의 medicine 테이블로 index를 다시 만듭니다. 새 문서는 commit한 뒤에 한 번에 검색되므로, 만드는 동안에는
+   * 기존 index로 검색합니다. 실패하면 이번에 바꾼 내용만 되돌리고 기존 index로 계속 검색합니다.
+   */
+  @Scheduled(cron = "${medicine.local-search.rebuild-cron:0 */10 * * * *}")
+  public synchronized void rebuild() {
+    try {
+      long start = System.nanoTime();
+      if (writer == null) {
+        openWriter();
+      }
+
+      writer.deleteAll();
+      int lastId = 0;
+      int count = 0;
+      while (true) {
+        List<MedicineIndexRow> rows = medicineRepository.findIndexRowsByIdGreaterThan(lastId,
+            PageRequest.of(0, FETCH_SIZE));
+        if (rows.isEmpty()) {
+          break;
+        }
+
+        for (MedicineIndexRow row : rows) {
+          if (row.getName() != null) {
+            writer.addDocument(toDocument(row));
+            count++;
+          }
+        }
+        lastId = rows.get(rows.size() - 1).getId();
+      }
+      writer.commit();
+      searcherManager.maybeRefreshBlocking();
+
+      ready = true;
+      log.info("의약품 내장 index 갱신 완료 documents={}, elapsedMs={}", count,
+          (System.nanoTime() - start) / 1_000_000);
+    } catch (IOException | RuntimeException e) {
+      log.warn("의약품 내장 index 갱신 실패", e);
+      rollback();
+    }
+  }
+
+  /**
+   * index writer를 엽니다. 처음 열 때는 빈 index를 commit해서 마지막 commit을 검색하는 searcher를 만들고, 그
+   * 뒤에는 마지막 commit에 이어서 엽니다.
+   */
+  private void openWriter() throws IOException {
+    if (directory == null) {
+      directory = new MMapDirectory(path);
+    }
+    boolean created = searcherManager == null;
+    writer = new IndexWriter(directory,
+        new IndexWriterConfig(analyzer).setOpenMode(created ? OpenMode.CREATE : OpenMode.APPEND));
+    if (created) {
+      writer.commit();
+      searcherManager = new SearcherManager(directory, null);
+    }
+  }
+
+  /**
+   * 갱신 중에 바꾼 내용만 되돌리고 마지막 commit으로 writer를 다시 엽니다. searcher는 마지막 commit을 그대로
+   * 검색하므로 ready는 바뀌지 않습니다. writer를 다시 열지 못하면 다음 갱신에서 다시 엽니다.
+   */
+  private void rollback() {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.rollback();
+    } catch (IOException e) {
+      log.warn("의약품 내장 index 되돌리기 실패", e);
+    }
+    writer = null;
+
+    try {
+      openWriter();
+    } catch (IOException | RuntimeException e) {
+      log.warn("의약품 내장 index writer를 다시 열지 못했습니다.", e);
+    }
+  }
+
+  /**
+   * 애플리케이션이 종료되면 index를 닫고, 임시 디렉터리에 만든 index는 삭제합니다.
+   */
+  @PreDestroy
+  public synchronized void close() {
+    ready = false;
+    closeQuietly();
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        log.warn("의약품 내장 index를 닫지 못했습니다.", e);
+      }
+      writer = null;
+    }
+    if (directory != null) {
+      try {
+        directory.close();
+      } catch (IOException e) {
+        log.warn("의약품 내장 index 디렉터리를 닫지 못했습니다.", e);
+      }
+      directory = null;
+    }
+    if (temporary) {
+      FileSystemUtils.deleteRecursively(path.toFile());
+    }
+  }
+
+  private void closeQuietly() {
+    if (searcherManager == null) {
+      return;
+    }
+    try {
+      searcherManager.close();
+    } catch (IOException e) {
+      log.warn("의약품 내장 index searcher를 닫지 못했습니다.", e);
+    }
+    searcherManager = null;
+    ready = false;
+  }
+
+  /**
+   * 검색어를 색인할 때와 같은 analyzer로 나누고, 모든 단어가 검색 필드의 단어와 앞부분이 일치하는 조건을
+   * 만듭니다.
+   *
+   * @return 검색할 단어가 없으면 null
+   */
+  private Query query(SearchMode mode, String keyword) {
+    String field = mode == SearchMode.CHOSEONG ? CHOSEONG_FIELD
+        : mode == SearchMode.JAMO ? JAMO_FIELD : NAME_FIELD;
+    List<String> tokens = analyze(field, keyword);
+    if (tokens.isEmpty()) {
+      return null;
+    }
+
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    for (String token : tokens) {
+      Term term = new Term(field, token);
+      if (mode == SearchMode.FUZZY) {
+        // elasticsearch의 AUTO와 같이 단어가 짧으면 오타를 적게 허용합니다.
+        int maxEdits = token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+        query.add(new FuzzyQuery(term, maxEdits, FUZZY_PREFIX_LENGTH, FUZZY_MAX_EXPANSIONS,
+            true), Occur.MUST);
+      } else {
+        query.add(new PrefixQuery(term), Occur.MUST);
+      }
+    }
+    return query.build();
+  }
+
+  private List<String> analyze(String field, String text) {
+    List<String> tokens = new ArrayList<>();
+    try (TokenStream stream = analyzer.tokenStream(field, text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken()) {
+        tokens.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return tokens;
+  }
+
+  private static Document toDocument(MedicineIndexRow row) {
+    Document document = new Document();
+    document.add(new StoredField(ID_FIELD, row.getId()));
+    document.add(new NumericDocValuesField(ID_FIELD, row.getId()));
+    document.add(new TextField(NAME_FIELD, row.getName(), Store.YES));
+    document.add(new NumericDocValuesField(NAME_LENGTH_FIELD, row.getName().length()));
+    document.add(new TextField(CHOSEONG_FIELD, HangulUtils.choseong(row.getName()), Store.NO));
+    document.add(new TextField(JAMO_FIELD, HangulUtils.jamo(row.getName()), Store.NO));
+    if (row.getCompany() != null) {
+      document.add(new StoredField(COMPANY_FIELD, row.getCompany()));
+    }
+    if (row.getImage() != null) {
+      document.add(new StoredField(IMAGE_FIELD, row.getImage()));
+    }
+    return document;
+  }
+
+  private static MedicineSearch toMedicineSearch(Document document) {
+    IndexableField id = document.getField(ID_FIELD);
+    return MedicineSearch.builder()
+        .id(id.numericValue().intValue())
+        .name(document.get(NAME_FIELD))
+        .company(document.get(COMPANY_FIELD))
+        .image(document.get(IMAGE_FIELD))
+        .build();
+  }
+}
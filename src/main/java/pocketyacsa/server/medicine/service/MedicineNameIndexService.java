@@ -0,0 +1,132 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.common.utility.NamePrefixIndex;
+import pocketyacsa.server.medicine.repository.DetectionLogRepository;
+import pocketyacsa.server.medicine.repository.FavoriteRepository;
+import pocketyacsa.server.medicine.repository.MedicineCount;
+import pocketyacsa.server.medicine.repository.MedicineName;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@Slf4j
+@Service
+public class MedicineNameIndexService {
+
+  private final MedicineRepository medicineRepository;
+  private final DetectionLogRepository detectionLogRepository;
+  private final FavoriteRepository favoriteRepository;
+  private final TaskScheduler taskScheduler;
+  private final Duration popularityWindow;
+
+  /**
+   * 검색에 사용중인 index. 새로 만든 index로 통째로 교체하므로 읽을 때 lock이 필요 없습니다.
+   */
+  private volatile NamePrefixIndex index = NamePrefixIndex.empty();
+
+  public MedicineNameIndexService(
+      MedicineRepository medicineRepository,
+      DetectionLogRepository detectionLogRepository,
+      FavoriteRepository favoriteRepository,
+      TaskScheduler taskScheduler,
+      @Value("${medicine.name-index.popularity-window:90d}") Duration popularityWindow,
+      MeterRegistry meterRegistry) {
+    this.medicineRepository = medicineRepository;
+    this.detectionLogRepository = detectionLogRepository;
+    this.favoriteRepository = favoriteRepository;
+    this.taskScheduler = taskScheduler;
+    this.popularityWindow = popularityWindow;
+    Gauge.builder("medicine.name-index.size", this, service -> service.index.size())
+        .register(meterRegistry);
+    Gauge.builder("medicine.name-index.bytes", this, service -> service.index.estimatedBytes())
+        .register(meterRegistry);
+  }
+
+  /**
+   * index가 만들어져 있는지 반환합니다.
+   *
+   * @return index 사용 가능 여부
+   */
+  public boolean isReady() {
+    return index.size() > 0;
+  }
+
+  /**
+   * 검색어로 시작하는 단어가 있는 의약품 이름을 인기순으로 최대 limit개 반환합니다.
+   *
+   * @param keyword 입력중인 검색어
+   * @param limit   최대 개수
+   * @return 의약품 이름
+   */
+  public List<String> search(String keyword, int limit) {
+    return index.search(keyword.trim(), limit);
+  }
+
+  /**
+   * 애플리케이션이 시작되면 백그라운드에서 index를 만듭니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    taskScheduler.schedule(this::rebuild, Instant.now());
+  }
+
+  /**
+   * MySQL의 의약품 이름과 최근 촬영기록, 즐겨찾기 수로 index를 새로 만들어 교체합니다. 만드는 동안에는 기존
+   * index로 검색합니다.
+   */
+  @Scheduled(cron = "${medicine.name-index.rebuild-cron:0 */30 * * * *}")
+  public void rebuild() {
+    try {
+      long start = System.nanoTime();
+      Map<String, Integer> popularity = getPopularity();
+      List<MedicineName> medicines = medicineRepository.findAllNames();
+
+      List<String> names = new ArrayList<>(medicines.size());
+      int[] scores = new int[medicines.size()];
+      for (MedicineName medicine : medicines) {
+        if (medicine.getName() == null || medicine.getName().isBlank()) {
+          continue;
+        }
+        scores[names.size()] = popularity.getOrDefault(medicine.getCode(), 0);
+        names.add(medicine.getName());
+      }
+
+      NamePrefixIndex rebuilt =
+          NamePrefixIndex.build(names, Arrays.copyOf(scores, names.size()));
+      index = rebuilt;
+      log.info("의약품 이름 index 갱신 완료 names={}, bytes={}, elapsedMs={}", rebuilt.size(),
+          rebuilt.estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException e) {
+      log.warn("의약품 이름 index 갱신 실패", e);
+    }
+  }
+
+  private Map<String, Integer> getPopularity() {
+    LocalDateTime since = LocalDateTime.now().minus(popularityWindow);
+    Map<String, Integer> popularity = new HashMap<>();
+    List<MedicineCount> counts = new ArrayList<>();
+    counts.addAll(detectionLogRepository.countByMedicineSince(since, Pageable.unpaged()));
+    counts.addAll(favoriteRepository.countByMedicineSince(since, Pageable.unpaged()));
+    for (MedicineCount count : counts) {
+      popularity.merge(count.getCode(), (int) count.getCount(), Integer::sum);
+    }
+
+    return popularity;
+  }
+}
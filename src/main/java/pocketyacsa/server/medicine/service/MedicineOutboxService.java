@@ -0,0 +1,285 @@
+package pocketyacsa.server.medicine.service;
+
+import static pocketyacsa.server.medicine.service.MedicineIndexService.INDEX;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pocketyacsa.server.medicine.domain.entity.MedicineOutbox;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineOutboxRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+/**
+ * medicine_outbox에 쌓인 medicine 변경 event를 medicine index에 반영합니다. event에는 변경된 medicine의 id만 있고,
+ * 반영할 때 MySQL의 현재 값을 읽어 색인하므로 같은 event를 여러 번 반영해도 결과가 같습니다. event id를 external
+ * version으로 사용해서 늦게 도착한 요청이 더 최근 값을 덮어쓰지 않도록 합니다.
+ */
+@Slf4j
+@Service
+public class MedicineOutboxService {
+
+  private static final String LOCK_KEY = "MedicineOutbox Relay Lock";
+
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  /**
+   * trigger 이름별 CREATE TRIGGER 문이 있는 디렉터리
+   */
+  private static final String TRIGGERS_PATH = "db/medicine-outbox-triggers/";
+
+  private static final List<String> TRIGGERS = List.of("medicine_outbox_after_insert",
+      "medicine_outbox_after_update", "medicine_outbox_after_delete",
+      "medicine_ingredient_outbox_after_insert", "medicine_ingredient_outbox_after_update",
+      "medicine_ingredient_outbox_after_delete");
+
+  private static final Duration LOCK_TTL = Duration.ofMinutes(1);
+
+  private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+
+  private final MedicineOutboxRepository outboxRepository;
+  private final MedicineRepository medicineRepository;
+  private final RestHighLevelClient client;
+  private final MedicineReindexService reindexService;
+  private final MedicineIngredientService ingredientService;
+  private final StringRedisTemplate redisTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSource dataSource;
+  private final int batchSize;
+  private final Duration maxBackoff;
+  private final boolean installTriggers;
+
+  private final Counter appliedCounter;
+  private final Counter retriedCounter;
+
+  public MedicineOutboxService(
+      MedicineOutboxRepository outboxRepository,
+      MedicineRepository medicineRepository,
+      RestHighLevelClient client,
+      MedicineReindexService reindexService,
+      MedicineIngredientService ingredientService,
+      StringRedisTemplate redisTemplate,
+      PlatformTransactionManager transactionManager,
+      JdbcTemplate jdbcTemplate,
+      DataSource dataSource,
+      @Value("${medicine.outbox.batch-size:500}") int batchSize,
+      @Value("${medicine.outbox.max-backoff:5m}") Duration maxBackoff,
+      @Value("${medicine.outbox.install-triggers:true}") boolean installTriggers,
+      MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.medicineRepository = medicineRepository;
+    this.client = client;
+    this.reindexService = reindexService;
+    this.ingredientService = ingredientService;
+    this.redisTemplate = redisTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.jdbcTemplate = jdbcTemplate;
+    this.dataSource = dataSource;
+    this.batchSize = batchSize;
+    this.maxBackoff = maxBackoff;
+    this.installTriggers = installTriggers;
+    this.appliedCounter = Counter.builder("medicine.outbox.events")
+        .tag("result", "applied").register(meterRegistry);
+    this.retriedCounter = Counter.builder("medicine.outbox.events")
+        .tag("result", "retried").register(meterRegistry);
+  }
+
+  /**
+   * 애플리케이션이 시작되면 medicine 테이블에 outbox trigger가 있는지 확인하고, 없는 trigger만 추가합니다. 이미
+   * 있는 trigger는 다시 만들지 않으므로 trigger가 없는 동안 변경이 빠지지 않습니다. 여러 인스턴스가 동시에 같은
+   * trigger를 추가하면 먼저 추가한 인스턴스 외에는 실패하고 넘어갑니다. trigger를 추가하려면 DB 사용자에게
+   * TRIGGER 권한이 필요하고, binary log를 사용하면 SUPER 권한이나 log_bin_trust_function_creators도 필요합니다.
+   * 애플리케이션의 DB 사용자에게 권한을 주지 않으려면 medicine.outbox.install-triggers를 false로 두고
+   * db/medicine-outbox-triggers의 문을 직접 실행합니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void prepareTriggers() {
+    if (!installTriggers) {
+      return;
+    }
+
+    Set<String> installed;
+    try {
+      installed = new HashSet<>(jdbcTemplate.queryForList(
+          "SELECT TRIGGER_NAME FROM information_schema.TRIGGERS "
+              + "WHERE TRIGGER_SCHEMA = DATABASE()", String.class));
+    } catch (RuntimeException e) {
+      log.warn("medicine outbox trigger를 확인하지 못했습니다.", e);
+      return;
+    }
+
+    for (String trigger : TRIGGERS) {
+      if (installed.contains(trigger)) {
+        continue;
+      }
+      try {
+        new ResourceDatabasePopulator(new ClassPathResource(TRIGGERS_PATH + trigger + ".sql"))
+            .execute(dataSource);
+        log.info("medicine outbox trigger를 추가했습니다. trigger={}", trigger);
+      } catch (RuntimeException e) {
+        log.warn("medicine outbox trigger를 추가하지 못했습니다. trigger={}", trigger, e);
+      }
+    }
+  }
+
+  /**
+   * 쌓인 event를 batchSize씩 반영합니다. 한 인스턴스에서만 id 순서대로 반영하며, 전체 색인이 진행되는 동안에는
+   * 멈췄다가 새 index로 alias가 옮겨진 뒤에 그동안 쌓인 event를 반영합니다. 의약품 하나가 바뀔 때마다 모든 검색결과
+   * 캐시를 버리지 않도록 캐시 세대는 올리지 않으므로, 캐시된 검색결과에는 캐시 ttl 동안 이전 값이 남을 수 있습니다.
+   */
+  @Scheduled(fixedDelayString = "${medicine.outbox.relay-interval:PT1S}")
+  public void relay() {
+    String token = UUID.randomUUID().toString();
+    try {
+      if (reindexService.isRunning() || !Boolean.TRUE.equals(
+          redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+        return;
+      }
+    } catch (RuntimeException e) {
+      log.debug("medicine outbox lock을 획득하지 못했습니다.", e);
+      return;
+    }
+
+    try {
+      int fetched;
+      do {
+        List<MedicineOutbox> events = outboxRepository.findReady(LocalDateTime.now(),
+            PageRequest.of(0, batchSize));
+        fetched = events.size();
+        relay(events);
+      } while (fetched == batchSize && !reindexService.isRunning());
+    } catch (RuntimeException e) {
+      log.warn("medicine outbox 반영 실패", e);
+    } finally {
+      redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), token);
+    }
+  }
+
+  /**
+   * event 하나의 batch를 하나의 bulk 요청으로 반영합니다. 같은 medicine의 event가 여러 개면 마지막 event의 id로
+   * 한 번만 색인합니다. 반영에 성공한 event는 삭제하고, 실패한 event는 backoff 후 다시 시도합니다.
+   *
+   * @param events id 순서로 정렬된 event
+   * @return 반영에 성공한 event 개수
+   */
+  int relay(List<MedicineOutbox> events) {
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    Map<Integer, Long> versions = new LinkedHashMap<>();
+    for (MedicineOutbox event : events) {
+      versions.merge(event.getMedicineId(), event.getId(), Math::max);
+    }
+    Map<Integer, MedicineIndexRow> rows = medicineRepository
+        .findIndexRowsByIdIn(versions.keySet()).stream()
+        .collect(Collectors.toMap(MedicineIndexRow::getId, Function.identity()));
+    try {
+      // ingredient가 바뀐 medicine은 성분 테이블을 먼저 맞춰야 바뀐 성분으로 색인됩니다. 성분 테이블이 바뀌면
+      // 성분 trigger가 event를 다시 추가하지만, 같은 값으로 한 번 더 색인할 뿐입니다.
+      ingredientService.sync(rows.keySet());
+    } catch (RuntimeException e) {
+      // 다음 backfill에서 성분 테이블을 맞추면 성분 trigger의 event로 다시 색인됩니다.
+      log.warn("medicine 성분 테이블을 맞추지 못했습니다. medicines={}", rows.size(), e);
+    }
+    Map<Integer, List<String>> ingredients = reindexService.findIngredients(rows.keySet());
+
+    BulkRequest bulk = new BulkRequest();
+    List<Integer> medicineIds = new ArrayList<>(versions.keySet());
+    for (int medicineId : medicineIds) {
+      String id = String.valueOf(medicineId);
+      long version = versions.get(medicineId);
+      MedicineIndexRow row = rows.get(medicineId);
+      if (row == null) {
+        bulk.add(new DeleteRequest(INDEX, id).versionType(VersionType.EXTERNAL).version(version));
+      } else {
+        bulk.add(new IndexRequest(INDEX).id(id)
+            .source(reindexService.toSource(row, ingredients.get(medicineId)), XContentType.JSON)
+            .versionType(VersionType.EXTERNAL).version(version));
+      }
+    }
+
+    Set<Integer> failed = new HashSet<>();
+    try {
+      BulkResponse response = client.bulk(bulk, RequestOptions.DEFAULT);
+      BulkItemResponse[] items = response.getItems();
+      for (int i = 0; i < items.length; i++) {
+        // version 충돌은 더 최근 event가 이미 반영된 경우이므로 성공으로 처리합니다.
+        if (items[i].isFailed() && items[i].status() != RestStatus.CONFLICT) {
+          failed.add(medicineIds.get(i));
+          log.warn("medicine index 반영 실패 medicineId={}, reason={}", medicineIds.get(i),
+              items[i].getFailureMessage());
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("medicine outbox bulk 요청 실패 events={}", events.size(), e);
+      failed.addAll(medicineIds);
+    }
+
+    List<Long> done = new ArrayList<>();
+    List<MedicineOutbox> retries = new ArrayList<>();
+    LocalDateTime now = LocalDateTime.now();
+    for (MedicineOutbox event : events) {
+      if (failed.contains(event.getMedicineId())) {
+        event.retryLater(now.plus(backoff(event.getAttempts())));
+        retries.add(event);
+      } else {
+        done.add(event.getId());
+      }
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      outboxRepository.deleteAllByIdInBatch(done);
+      outboxRepository.saveAll(retries);
+    });
+    appliedCounter.increment(done.size());
+    retriedCounter.increment(retries.size());
+
+    return done.size();
+  }
+
+  private Duration backoff(int attempts) {
+    Duration backoff = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts, 20));
+    return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+  }
+}
@@ -0,0 +1,235 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.common.utility.RateLimiter;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.repository.DetectionLogRepository;
+import pocketyacsa.server.medicine.repository.FavoriteRepository;
+import pocketyacsa.server.medicine.repository.MedicineCount;
+
+@Slf4j
+@Service
+public class MedicinePrewarmService {
+
+  private static final String CODES_KEY = "MedicinePrewarm Codes";
+  private static final String CURSOR_KEY = "MedicinePrewarm Cursor";
+  private static final String LOCK_KEY = "MedicinePrewarm Lock";
+
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  private final DetectionLogRepository detectionLogRepository;
+  private final FavoriteRepository favoriteRepository;
+  private final MedicineDocumentService documentService;
+  private final StringRedisTemplate redisTemplate;
+  private final RateLimiter rateLimiter;
+  private final int size;
+  private final Duration window;
+  private final Duration margin;
+  private final Duration lockTtl;
+
+  /**
+   * 진행상황을 이어서 처리할 수 있는 기간. 실행 주기의 두 배로, 중단된 진행상황이 다음 실행 전에 만료되지 않습니다.
+   */
+  private final Duration progressTtl;
+
+  private final Counter fetchedCounter;
+  private final Counter skippedCounter;
+  private final Counter failedCounter;
+
+  /**
+   * 마지막 pre-warm에서 상위 의약품 문서 중 최신 상태인 문서의 비율
+   */
+  private volatile double coverage;
+
+  public MedicinePrewarmService(
+      DetectionLogRepository detectionLogRepository,
+      FavoriteRepository favoriteRepository,
+      MedicineDocumentService documentService,
+      StringRedisTemplate redisTemplate,
+      @Value("${nedrug.prewarm.requests-per-second:2}") double requestsPerSecond,
+      @Value("${nedrug.prewarm.size:500}") int size,
+      @Value("${nedrug.prewarm.window:7d}") Duration window,
+      @Value("${nedrug.prewarm.margin:1d}") Duration margin,
+      @Value("${nedrug.prewarm.lock-ttl:1h}") Duration lockTtl,
+      @Value("${nedrug.prewarm.cron:0 0 4 * * *}") String cron,
+      MeterRegistry meterRegistry) {
+    this.detectionLogRepository = detectionLogRepository;
+    this.favoriteRepository = favoriteRepository;
+    this.documentService = documentService;
+    this.redisTemplate = redisTemplate;
+    this.rateLimiter = new RateLimiter(requestsPerSecond);
+    this.size = size;
+    this.window = window;
+    this.margin = margin;
+    this.lockTtl = lockTtl;
+    this.progressTtl = schedulePeriod(cron).multipliedBy(2);
+    this.fetchedCounter = meterRegistry.counter("medicine.prewarm.documents", "result", "fetched");
+    this.skippedCounter = meterRegistry.counter("medicine.prewarm.documents", "result", "skipped");
+    this.failedCounter = meterRegistry.counter("medicine.prewarm.documents", "result", "failed");
+    Gauge.builder("medicine.prewarm.coverage", this, service -> service.coverage)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 최근 촬영기록과 즐겨찾기가 많은 의약품의 문서를 미리 받아옵니다. 한 인스턴스에서만 실행되며, 중단된 경우 다음
+   * 실행에서 이어서 진행합니다. 이어서 진행할 목록을 버리고 인기 의약품을 새로 고르려면 redis에서
+   * "MedicinePrewarm Codes"와 "MedicinePrewarm Cursor" key를 삭제합니다.
+   */
+  @Scheduled(cron = "${nedrug.prewarm.cron:0 0 4 * * *}")
+  public void prewarm() {
+    String token = UUID.randomUUID().toString();
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+    if (!Boolean.TRUE.equals(locked)) {
+      return;
+    }
+
+    try {
+      List<String> codes = getProgressCodes();
+      int cursor = getCursor();
+
+      for (int i = cursor; i < codes.size(); i++) {
+        if (!prewarm(codes.get(i))) {
+          return;
+        }
+        redisTemplate.opsForValue().set(CURSOR_KEY, String.valueOf(i + 1), progressTtl);
+      }
+
+      coverage = calculateCoverage(codes);
+      redisTemplate.delete(List.of(CODES_KEY, CURSOR_KEY));
+    } finally {
+      redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), token);
+    }
+  }
+
+  /**
+   * 최근 window 기간 동안 촬영기록과 즐겨찾기가 많은 의약품 code를 최대 size개 반환합니다.
+   *
+   * @return 인기순으로 정렬된 의약품 code
+   */
+  public List<String> getPopularCodes() {
+    LocalDateTime since = LocalDateTime.now().minus(window);
+    PageRequest pageRequest = PageRequest.of(0, size);
+    Map<String, Long> scores = new HashMap<>();
+
+    for (MedicineCount count : detectionLogRepository.countByMedicineSince(since, pageRequest)) {
+      scores.merge(count.getCode(), count.getCount(), Long::sum);
+    }
+    for (MedicineCount count : favoriteRepository.countByMedicineSince(since, pageRequest)) {
+      scores.merge(count.getCode(), count.getCount(), Long::sum);
+    }
+
+    return scores.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(size)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 의약품 하나의 문서들을 미리 받아옵니다.
+   *
+   * @param code medicine의 code
+   * @return 계속 진행할지 여부. interrupt 된 경우 false
+   */
+  private boolean prewarm(String code) {
+    for (MedicineSection section : MedicineSection.values()) {
+      if (documentService.isFresh(code, section, margin)) {
+        skippedCounter.increment();
+        continue;
+      }
+
+      try {
+        rateLimiter.acquire();
+        documentService.refresh(code, section);
+        fetchedCounter.increment();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } catch (RuntimeException e) {
+        failedCounter.increment();
+        log.warn("의약품 문서 pre-warm 실패 code={}, section={}", code, section, e);
+      }
+    }
+
+    return true;
+  }
+
+  private List<String> getProgressCodes() {
+    List<String> codes = redisTemplate.opsForList().range(CODES_KEY, 0, -1);
+    if (codes != null && !codes.isEmpty()) {
+      // 이어서 진행하는 동안 목록이 만료되지 않도록 기간을 늘립니다.
+      redisTemplate.expire(CODES_KEY, progressTtl);
+      return codes;
+    }
+
+    codes = getPopularCodes();
+    redisTemplate.delete(List.of(CODES_KEY, CURSOR_KEY));
+    if (!codes.isEmpty()) {
+      redisTemplate.opsForList().rightPushAll(CODES_KEY, codes);
+      redisTemplate.expire(CODES_KEY, progressTtl);
+    }
+
+    return codes;
+  }
+
+  /**
+   * cron 표현식의 다음 두 실행 시각의 간격을 실행 주기로 사용합니다. 실행하지 않도록 설정한 경우 하루로 봅니다.
+   */
+  private static Duration schedulePeriod(String cron) {
+    if (Scheduled.CRON_DISABLED.equals(cron)) {
+      return Duration.ofDays(1);
+    }
+    CronExpression expression = CronExpression.parse(cron);
+    LocalDateTime next = expression.next(LocalDateTime.now());
+    LocalDateTime following = next == null ? null : expression.next(next);
+    if (following == null) {
+      return Duration.ofDays(1);
+    }
+
+    return Duration.between(next, following);
+  }
+
+  private int getCursor() {
+    try {
+      String cursor = redisTemplate.opsForValue().get(CURSOR_KEY);
+      return cursor == null ? 0 : Integer.parseInt(cursor);
+    } catch (DataAccessException | NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private double calculateCoverage(List<String> codes) {
+    if (codes.isEmpty()) {
+      return 1.0;
+    }
+
+    long fresh = codes.stream()
+        .flatMap(code -> List.of(MedicineSection.values()).stream()
+            .filter(section -> documentService.isFresh(code, section, Duration.ZERO)))
+        .count();
+
+    return (double) fresh / (codes.size() * MedicineSection.values().length);
+  }
+}
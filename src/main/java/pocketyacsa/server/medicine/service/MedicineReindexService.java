@@ -0,0 +1,411 @@
+package pocketyacsa.server.medicine.service;
+
+import static pocketyacsa.server.medicine.service.MedicineIndexService.HANGUL_FILLED_META;
+import static pocketyacsa.server.medicine.service.MedicineIndexService.INDEX;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineIngredientName;
+import pocketyacsa.server.medicine.repository.MedicineIngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+/**
+ * MySQL의 medicine 테이블로 medicine index를 새로 만듭니다. 버전이 붙은 새 index에 색인을 마친 뒤 medicine alias를
+ * 한 번에 옮기므로, 색인하는 동안에도 검색은 기존 index에서 계속됩니다.
+ */
+@Slf4j
+@Service
+public class MedicineReindexService {
+
+  private static final String LOCK_KEY = "MedicineIndex Reindex Lock";
+
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  private static final DateTimeFormatter VERSION_FORMAT =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+  private static final ByteSizeValue BULK_SIZE = new ByteSizeValue(5, ByteSizeUnit.MB);
+
+  private final RestHighLevelClient client;
+  private final ElasticsearchOperations operations;
+  private final MedicineRepository medicineRepository;
+  private final MedicineIngredientRepository medicineIngredientRepository;
+  private final StringRedisTemplate redisTemplate;
+  private final TaskScheduler taskScheduler;
+  private final MedicineSearchCacheService searchCacheService;
+  private final int fetchSize;
+  private final int concurrency;
+  private final Duration timeout;
+  private final Duration lockTtl;
+
+  private final Counter indexedCounter;
+  private final Counter failedCounter;
+  private final Timer reindexTimer;
+
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong processed = new AtomicLong();
+
+  private volatile boolean running;
+
+  public MedicineReindexService(
+      RestHighLevelClient client,
+      ElasticsearchOperations operations,
+      MedicineRepository medicineRepository,
+      MedicineIngredientRepository medicineIngredientRepository,
+      StringRedisTemplate redisTemplate,
+      TaskScheduler taskScheduler,
+      MedicineSearchCacheService searchCacheService,
+      @Value("${medicine.search.reindex.fetch-size:1000}") int fetchSize,
+      @Value("${medicine.search.reindex.concurrency:2}") int concurrency,
+      @Value("${medicine.search.reindex.timeout:10m}") Duration timeout,
+      MeterRegistry meterRegistry) {
+    this.client = client;
+    this.operations = operations;
+    this.medicineRepository = medicineRepository;
+    this.medicineIngredientRepository = medicineIngredientRepository;
+    this.redisTemplate = redisTemplate;
+    this.taskScheduler = taskScheduler;
+    this.searchCacheService = searchCacheService;
+    this.fetchSize = fetchSize;
+    this.concurrency = concurrency;
+    this.timeout = timeout;
+    this.lockTtl = timeout.multipliedBy(2);
+    this.indexedCounter = Counter.builder("medicine.reindex.documents")
+        .tag("result", "indexed").register(meterRegistry);
+    this.failedCounter = Counter.builder("medicine.reindex.documents")
+        .tag("result", "failed").register(meterRegistry);
+    this.reindexTimer = Timer.builder("medicine.reindex.duration").register(meterRegistry);
+    Gauge.builder("medicine.reindex.progress", this, MedicineReindexService::getProgress)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 이 인스턴스나 다른 인스턴스에서 색인이 진행중인지 반환합니다.
+   *
+   * @return 색인 진행 여부
+   */
+  public boolean isRunning() {
+    return running || Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY));
+  }
+
+  /**
+   * 진행중이거나 마지막으로 실행한 색인의 진행률을 반환합니다.
+   *
+   * @return 0부터 1 사이의 진행률
+   */
+  public double getProgress() {
+    long totalCount = total.get();
+    return totalCount == 0 ? 0 : Math.min(1.0, (double) processed.get() / totalCount);
+  }
+
+  /**
+   * 애플리케이션이 시작될 때 medicine index가 비어있으면 백그라운드에서 색인합니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reindexOnStartup() {
+    taskScheduler.schedule(() -> {
+      if (isIndexEmpty()) {
+        reindex();
+      }
+    }, Instant.now());
+  }
+
+  /**
+   * medicine 테이블 전체를 새 index에 색인하고 medicine alias를 새 index로 옮깁니다. 한 인스턴스에서만 실행되며,
+   * 색인에 실패하면 새 index를 삭제하고 기존 index를 그대로 사용합니다.
+   */
+  @Scheduled(cron = "${medicine.search.reindex.cron:0 0 5 * * *}")
+  public void reindex() {
+    String token = UUID.randomUUID().toString();
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+    if (!Boolean.TRUE.equals(locked)) {
+      return;
+    }
+
+    running = true;
+    long start = System.nanoTime();
+    try {
+      String index = INDEX + "_" + LocalDateTime.now().format(VERSION_FORMAT);
+      createIndex(index);
+      try {
+        long indexed = indexAll(index);
+        finishIndex(index, indexed);
+        switchAlias(index);
+      } catch (IOException | InterruptedException | RuntimeException e) {
+        deleteQuietly(index);
+        throw e;
+      }
+
+      searchCacheService.bumpGeneration();
+      long elapsed = System.nanoTime() - start;
+      reindexTimer.record(elapsed, TimeUnit.NANOSECONDS);
+      log.info("medicine index 색인 완료 index={}, documents={}, elapsedMs={}, docsPerSec={}",
+          index, processed.get(), elapsed / 1_000_000,
+          processed.get() * 1_000_000_000L / Math.max(elapsed, 1));
+    } catch (IOException | RuntimeException e) {
+      log.warn("medicine index 색인 실패", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("medicine index 색인 중단", e);
+    } finally {
+      running = false;
+      redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), token);
+    }
+  }
+
+  /**
+   * MedicineSearch의 mapping과 설정 파일의 analyzer로 새 index를 만듭니다. 색인하는 동안에는 refresh를 꺼서
+   * segment를 자주 만들지 않도록 합니다.
+   */
+  private void createIndex(String index) throws IOException {
+    Document mapping = operations.indexOps(MedicineSearch.class).createMapping();
+    // 색인할 때 초성, 자모 필드를 함께 채우므로 별도로 채울 필요가 없습니다.
+    mapping.put("_meta", Map.of(HANGUL_FILLED_META, true));
+
+    Settings settings = Settings.builder()
+        .loadFromSource(MedicineIndexService.readSettings(), XContentType.JSON)
+        .put("index.refresh_interval", "-1")
+        .build();
+    client.indices().create(new CreateIndexRequest(index)
+        .settings(settings)
+        .mapping(mapping.toJson(), XContentType.JSON), RequestOptions.DEFAULT);
+  }
+
+  /**
+   * medicine 테이블을 id 순서로 fetchSize씩 읽어 bulk 요청으로 색인합니다. 최대 concurrency개의 bulk 요청을
+   * 동시에 보내고, 요청이 밀리면 다음 batch를 읽지 않고 기다리므로 메모리 사용량이 늘어나지 않습니다.
+   *
+   * @return 색인한 문서 개수
+   */
+  private long indexAll(String index) throws InterruptedException {
+    total.set(medicineRepository.count());
+    processed.set(0);
+    AtomicLong indexed = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+
+    BulkProcessor processor = BulkProcessor.builder(
+            (request, listener) -> client.bulkAsync(request, RequestOptions.DEFAULT, listener),
+            new BulkProcessor.Listener() {
+              @Override
+              public void beforeBulk(long executionId, BulkRequest request) {
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request,
+                  BulkResponse response) {
+                long failures = 0;
+                for (BulkItemResponse item : response.getItems()) {
+                  if (item.isFailed()) {
+                    failures++;
+                  }
+                }
+                record(request.numberOfActions() - failures, failures);
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                log.warn("medicine index bulk 요청 실패 actions={}", request.numberOfActions(),
+                    failure);
+                record(0, request.numberOfActions());
+              }
+
+              private void record(long succeeded, long failures) {
+                indexed.addAndGet(succeeded);
+                failed.addAndGet(failures);
+                indexedCounter.increment(succeeded);
+                failedCounter.increment(failures);
+                processed.addAndGet(succeeded + failures);
+              }
+            }, "medicine-reindex")
+        .setBulkActions(fetchSize)
+        .setBulkSize(BULK_SIZE)
+        .setConcurrentRequests(concurrency)
+        .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), 3))
+        .build();
+
+    try {
+      int lastId = 0;
+      while (true) {
+        List<MedicineIndexRow> rows = medicineRepository.findIndexRowsByIdGreaterThan(lastId,
+            PageRequest.of(0, fetchSize));
+        if (rows.isEmpty()) {
+          break;
+        }
+
+        Map<Integer, List<String>> ingredients = findIngredients(
+            rows.stream().map(MedicineIndexRow::getId).collect(Collectors.toList()));
+        for (MedicineIndexRow row : rows) {
+          processor.add(new IndexRequest(index)
+              .id(String.valueOf(row.getId()))
+              .source(toSource(row, ingredients.get(row.getId())), XContentType.JSON));
+        }
+        lastId = rows.get(rows.size() - 1).getId();
+      }
+    } finally {
+      if (!processor.awaitClose(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        failed.incrementAndGet();
+      }
+    }
+
+    if (failed.get() > 0) {
+      throw new IllegalStateException("색인에 실패한 문서가 있습니다. failed=" + failed.get());
+    }
+
+    return indexed.get();
+  }
+
+  /**
+   * refresh 설정을 되돌리고, 색인한 문서가 모두 검색되는지 확인합니다.
+   */
+  private void finishIndex(String index, long indexed) throws IOException {
+    client.indices().putSettings(new UpdateSettingsRequest(index)
+        .settings(Settings.builder().putNull("index.refresh_interval")), RequestOptions.DEFAULT);
+    client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+
+    long count = client.count(new CountRequest(index), RequestOptions.DEFAULT).getCount();
+    if (count != indexed) {
+      throw new IllegalStateException(
+          "색인한 문서 개수가 다릅니다. indexed=" + indexed + ", count=" + count);
+    }
+  }
+
+  /**
+   * medicine alias를 새 index로 옮기고 기존 index를 삭제합니다. alias를 옮기는 요청은 한 번에 적용되므로 검색
+   * 요청은 항상 기존 index나 새 index 중 하나에서 처리됩니다. alias를 사용하기 전에 만들어진 medicine index는
+   * alias와 이름이 같으므로 alias를 추가하면서 함께 삭제합니다.
+   */
+  private void switchAlias(String index) throws IOException {
+    Set<String> previous = client.indices()
+        .getAlias(new GetAliasesRequest(INDEX), RequestOptions.DEFAULT)
+        .getAliases().keySet();
+
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    request.addAliasAction(AliasActions.add().index(index).alias(INDEX));
+    for (String previousIndex : previous) {
+      request.addAliasAction(AliasActions.remove().index(previousIndex).alias(INDEX));
+    }
+    if (previous.isEmpty()
+        && client.indices().exists(new GetIndexRequest(INDEX), RequestOptions.DEFAULT)) {
+      request.addAliasAction(AliasActions.removeIndex().index(INDEX));
+    }
+    client.indices().updateAliases(request, RequestOptions.DEFAULT);
+
+    for (String previousIndex : previous) {
+      deleteQuietly(previousIndex);
+    }
+  }
+
+  /**
+   * 여러 medicine의 성분 이름을 한 번에 조회합니다. 색인할 때 같은 성분이 다른 값으로 나뉘지 않도록 앞뒤 공백을
+   * 없애고 연속된 공백을 하나로 줄입니다. 대소문자와 전각 문자는 index의 normalizer가 맞춥니다.
+   *
+   * @param medicineIds medicine의 id
+   * @return medicine id별 성분 이름. 성분이 없는 medicine은 포함하지 않습니다.
+   */
+  Map<Integer, List<String>> findIngredients(Collection<Integer> medicineIds) {
+    if (medicineIds.isEmpty()) {
+      return Map.of();
+    }
+
+    return medicineIngredientRepository.findIngredientNamesByMedicineIdIn(medicineIds).stream()
+        .filter(ingredient -> ingredient.getName() != null)
+        .collect(Collectors.groupingBy(MedicineIngredientName::getMedicineId,
+            Collectors.mapping(ingredient -> ingredient.getName().trim().replaceAll("\\s+", " "),
+                Collectors.toList())));
+  }
+
+  /**
+   * medicine 한 건을 색인할 문서로 변환합니다.
+   *
+   * @param row         medicine의 색인할 컬럼
+   * @param ingredients medicine의 성분 이름. 없으면 null
+   * @return 문서 json
+   */
+  String toSource(MedicineIndexRow row, List<String> ingredients) {
+    MedicineSearch medicine = MedicineSearch.builder()
+        .id(row.getId())
+        .name(row.getName())
+        .company(row.getCompany())
+        .image(row.getImage())
+        .ingredients(ingredients)
+        .build();
+
+    return operations.getElasticsearchConverter().mapObject(medicine).toJson();
+  }
+
+  private boolean isIndexEmpty() {
+    try {
+      return client.count(new CountRequest(INDEX), RequestOptions.DEFAULT).getCount() == 0;
+    } catch (ElasticsearchStatusException e) {
+      return e.status() == RestStatus.NOT_FOUND;
+    } catch (IOException | RuntimeException e) {
+      log.warn("medicine index 문서 개수를 확인하지 못했습니다.", e);
+      return false;
+    }
+  }
+
+  private void deleteQuietly(String index) {
+    try {
+      client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+    } catch (IOException | RuntimeException e) {
+      log.warn("medicine index를 삭제하지 못했습니다. index={}", index, e);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package pocketyacsa.server.medicine.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchPageRedis;
+
+/**
+ * 사용자와 관계없는 의약품 검색결과 페이지를 redis에 캐시합니다. key에 medicine index의 세대를 포함하므로, index가
+ * 바뀌면 세대만 올려서 기존 캐시를 한 번에 무효화합니다. 이전 세대의 캐시는 조회되지 않고 ttl이 지나면 삭제됩니다.
+ */
+@Slf4j
+@Service
+public class MedicineSearchCacheService {
+
+  private static final String GENERATION_KEY = "MedicineSearch Generation";
+
+  private final RedisTemplate<String, MedicineSearchPageRedis> redisTemplate;
+  private final StringRedisTemplate generationTemplate;
+  private final Duration ttl;
+
+  /**
+   * 마지막으로 확인한 index 세대. 요청마다 redis에서 읽지 않도록 주기적으로 갱신합니다.
+   */
+  private volatile String generation;
+
+  public MedicineSearchCacheService(
+      RedisTemplate<String, MedicineSearchPageRedis> redisTemplate,
+      StringRedisTemplate generationTemplate,
+      @Value("${medicine.search.cache.ttl:10m}") Duration ttl) {
+    this.redisTemplate = redisTemplate;
+    this.generationTemplate = generationTemplate;
+    this.ttl = ttl;
+  }
+
+  /**
+   * 캐시된 검색결과 페이지를 반환합니다.
+   *
+   * @param name 의약품 검색어
+   * @param page 검색결과 페이지
+   * @return 캐시된 검색결과, 없거나 redis를 사용할 수 없으면 null
+   */
+  public MedicineSearchPageRedis getPage(String name, int page) {
+    String key = pageKey(name, page);
+    if (key == null) {
+      return null;
+    }
+
+    try {
+      return redisTemplate.opsForValue().get(key);
+    } catch (DataAccessException e) {
+      log.warn("의약품 검색결과 캐시 조회 실패 key={}", key, e);
+      return null;
+    }
+  }
+
+  /**
+   * 검색결과 페이지를 캐시합니다.
+   *
+   * @param name  의약품 검색어
+   * @param page  검색결과 페이지
+   * @param value 사용자와 관계없는 검색결과
+   */
+  public void putPage(String name, int page, MedicineSearchPageRedis value) {
+    String key = pageKey(name, page);
+    if (key == null) {
+      return;
+    }
+
+    try {
+      redisTemplate.opsForValue().set(key, value, ttl);
+    } catch (DataAccessException e) {
+      log.warn("의약품 검색결과 캐시 저장 실패 key={}", key, e);
+    }
+  }
+
+  /**
+   * index 세대를 올려서 모든 검색결과 캐시를 무효화합니다. medicine index의 문서나 필드가 바뀐 뒤에 호출합니다.
+   */
+  public void bumpGeneration() {
+    try {
+      Long bumped = generationTemplate.opsForValue().increment(GENERATION_KEY);
+      generation = String.valueOf(bumped);
+    } catch (DataAccessException e) {
+      log.warn("의약품 검색결과 캐시 세대를 올리지 못했습니다.", e);
+      generation = null;
+    }
+  }
+
+  /**
+   * 다른 인스턴스가 올린 index 세대를 반영합니다.
+   */
+  @Scheduled(fixedDelayString = "${medicine.search.cache.generation-check-interval:PT5S}")
+  public void refreshGeneration() {
+    try {
+      String current = generationTemplate.opsForValue().get(GENERATION_KEY);
+      generation = current == null ? "0" : current;
+    } catch (DataAccessException e) {
+      log.debug("의약품 검색결과 캐시 세대를 확인하지 못했습니다.", e);
+      generation = null;
+    }
+  }
+
+  /**
+   * 같은 검색결과가 나오는 검색어를 하나의 key로 모으기 위해 앞뒤 공백을 없애고, 연속된 공백을 하나로 줄이고,
+   * 소문자로 바꿉니다. elasticsearch의 analyzer도 공백과 대소문자를 구분하지 않습니다.
+   *
+   * @param name 의약품 검색어
+   * @return 정규화한 검색어
+   */
+  public static String normalize(String name) {
+    return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 세대를 아직 확인하지 못했거나 redis를 사용할 수 없으면 null을 반환해서 캐시를 사용하지 않습니다. 세대는
+   * refreshGeneration이 주기적으로 다시 확인하므로, 요청마다 redis에 연결을 시도하지 않습니다.
+   */
+  private String pageKey(String name, int page) {
+    String current = generation;
+    if (current == null) {
+      return null;
+    }
+
+    // 검색어에 공백이 있을 수 있으므로 마지막에 둡니다.
+    return "MedicineSearch Page " + current + " " + page + " " + normalize(name);
+  }
+}
@@ -0,0 +1,60 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+import pocketyacsa.server.common.utility.RequestCoalescer;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchPageRedis;
+
+/**
+ * 검색어를 입력하는 동안 여러 사용자가 같은 검색어로 동시에 요청하면 elasticsearch 검색을 한 번만 실행하고 결과를
+ * 함께 사용합니다. 검색결과 캐시와 같이 정규화한 검색어를 key로 사용합니다.
+ */
+@Service
+public class MedicineSearchCoalescingService {
+
+  private final RequestCoalescer<MedicineSearchPageRedis> pageCoalescer =
+      new RequestCoalescer<>();
+  private final RequestCoalescer<List<String>> keywordCoalescer = new RequestCoalescer<>();
+
+  public MedicineSearchCoalescingService(MeterRegistry meterRegistry) {
+    register(meterRegistry, "page", pageCoalescer);
+    register(meterRegistry, "keyword", keywordCoalescer);
+  }
+
+  /**
+   * 같은 검색어와 page의 검색이 실행 중이면 그 결과를 받고, 아니면 loader로 검색합니다.
+   *
+   * @param name   의약품 검색어
+   * @param page   검색결과 페이지
+   * @param loader 사용자와 관계없는 검색결과를 찾는 함수
+   * @return 사용자와 관계없는 검색결과
+   */
+  public MedicineSearchPageRedis getPage(String name, int page,
+      Supplier<MedicineSearchPageRedis> loader) {
+    return pageCoalescer.execute(MedicineSearchCacheService.normalize(name) + " " + page, loader);
+  }
+
+  /**
+   * 같은 검색어의 연관검색어 조회가 실행 중이면 그 결과를 받고, 아니면 loader로 조회합니다.
+   *
+   * @param name   의약품 검색어
+   * @param loader 연관검색어를 찾는 함수
+   * @return 연관검색어들
+   */
+  public List<String> getKeywords(String name, Supplier<List<String>> loader) {
+    return keywordCoalescer.execute(MedicineSearchCacheService.normalize(name), loader);
+  }
+
+  private static void register(MeterRegistry meterRegistry, String type,
+      RequestCoalescer<?> coalescer) {
+    FunctionCounter.builder("medicine.search.coalesced", coalescer,
+            RequestCoalescer::getExecuted)
+        .tag("type", type).tag("result", "executed").register(meterRegistry);
+    FunctionCounter.builder("medicine.search.coalesced", coalescer,
+            RequestCoalescer::getDeduplicated)
+        .tag("type", type).tag("result", "deduplicated").register(meterRegistry);
+  }
+}
@@ -1,30 +1,58 @@
 package pocketyacsa.server.medicine.service;
 
+import static pocketyacsa.server.common.utility.Constant.FACET_SIZE;
 import static pocketyacsa.server.common.utility.Constant.KEYWORD_SIZE;
 import static pocketyacsa.server.common.utility.Constant.PAGE_SIZE;
 import static pocketyacsa.server.common.utility.Constant.RECENT_KEYWORD_SIZE;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.KEYWORD_NOT_EXIST;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.PAGE_OUT_OF_RANGE;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_CURSOR_INVALID;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_FACET_UNAVAILABLE;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_LOG_NOT_EXIST;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_RESULT_NOT_EXIST;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.search.aggregations.bucket.filter.Filter;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.TopHits;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.clients.elasticsearch7.ElasticsearchAggregations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import pocketyacsa.server.common.exception.BadRequestException;
+import pocketyacsa.server.common.utility.HangulUtils;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchPageRedis;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchRedis;
 import pocketyacsa.server.medicine.domain.redisValue.SearchLogRedis;
+import pocketyacsa.server.medicine.domain.request.SearchCursor;
+import pocketyacsa.server.medicine.domain.response.FacetCountRes;
+import pocketyacsa.server.medicine.domain.response.MedicineFacetSearchPageRes;
 import pocketyacsa.server.medicine.domain.response.MedicineSearch;
 import pocketyacsa.server.medicine.domain.response.MedicineSearchPageRes;
 import pocketyacsa.server.medicine.domain.response.MedicineSearchRes;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
 import pocketyacsa.server.medicine.repository.MedicineSearchRepository;
+import pocketyacsa.server.medicine.repository.MedicineSearchRepositoryCustom;
 import pocketyacsa.server.member.entity.Member;
 import pocketyacsa.server.member.service.MemberService;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MedicineSearchService {
@@ -33,6 +61,12 @@ public class MedicineSearchService {
   private final MemberService memberService;
   private final RedisTemplate<String, SearchLogRedis> redisTemplate;
   private final FavoriteService favoriteService;
+  private final MedicineIndexService indexService;
+  private final MedicineNameIndexService nameIndexService;
+  private final MedicineSearchCacheService searchCacheService;
+  private final MedicineLocalSearchService localSearchService;
+  private final MedicineTrendService trendService;
+  private final MedicineSearchCoalescingService coalescingService;
 
   /**
    * 특정 name의 medicine 검색결과를 반환합니다. page를 넘겨줌으로써 특정 페이지의 정보로 제공됩니다.
@@ -46,41 +80,457 @@ public class MedicineSearchService {
     if (name.isEmpty()) {
       throw new BadRequestException(KEYWORD_NOT_EXIST.getErrorResponse());
     }
-    int totalSize = repository.countByName(name);
+    if (page < 1) {
+      throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
+    }
+
+    // 검색결과는 사용자와 관계없이 캐시하고, 즐겨찾기 여부만 사용자마다 붙입니다.
+    MedicineSearchPageRedis searchResults = searchCacheService.getPage(name, page);
+    if (searchResults == null) {
+      Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+      // 내장 index의 검색결과는 elasticsearch와 순서가 다르므로 캐시하지 않습니다.
+      searchResults = coalescingService.getPage(name, page,
+          () -> localSearchService.withFallback(() -> {
+            MedicineSearchPageRedis results = search(name, pageable);
+            searchCacheService.putPage(name, page, results);
+            return results;
+          }, () -> searchLocal(name, pageable)));
+    }
+    int totalSize = searchResults.getTotal();
     int totalPages = (int) Math.ceil((double) totalSize / PAGE_SIZE);
 
     if (totalSize == 0) {
       throw new BadRequestException(SEARCH_RESULT_NOT_EXIST.getErrorResponse());
     }
-    if (page < 1 || page > totalPages) {
+    if (page > totalPages) {
       throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
     }
 
-    List<MedicineSearch> searchResults = repository.findByName(name,
-        PageRequest.of(page - 1, PAGE_SIZE));
+    List<MedicineSearchRes> searchResponse =
+        toSearchResList(member.getId(), searchResults.getMedicines());
+
+    boolean lastPage = (page == totalPages);
+
+    MedicineSearchPageRes response = MedicineSearchPageRes.builder().total(totalSize)
+        .totalPage(totalPages).page(page)
+        .lastPage(lastPage).medicineSearchList(searchResponse)
+        .searchMode(searchResults.getSearchMode()).build();
+
+    return response;
+  }
+
+  /**
+   * 특정 name의 medicine 검색결과를 cursor 다음부터 한 페이지 반환합니다. 이전 페이지의 마지막 검색결과 다음부터
+   * 검색하므로 뒤쪽 페이지를 조회해도 앞 페이지를 건너뛰는 비용이 들지 않습니다.
+   *
+   * @param name   의약품 검색어
+   * @param cursor 이전 응답의 nextCursor. 첫 페이지는 null
+   * @return cursor 다음 페이지의 검색결과와 그 다음 페이지의 cursor
+   */
+  public MedicineSearchPageRes getMedicineSearchesByNameAndCursor(String name, String cursor) {
+    Member member = memberService.getLoginMember();
+    if (name.isEmpty()) {
+      throw new BadRequestException(KEYWORD_NOT_EXIST.getErrorResponse());
+    }
+
+    SearchCursor previous = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+    // 내장 index에서 만든 cursor는 score가 음수이므로 다음 페이지도 내장 index에서 조회합니다.
+    CursorPage searchPage = previous != null && previous.getScore() < 0
+        ? searchLocalAfter(name, previous)
+        : localSearchService.withFallback(() -> searchAfter(name, previous),
+            () -> searchLocalAfter(name, previous));
+    int page = searchPage.getPage();
+    int totalSize = searchPage.getTotal();
+    List<MedicineSearchRedis> searchResults = searchPage.getMedicines();
+
+    if (totalSize == 0) {
+      throw new BadRequestException(SEARCH_RESULT_NOT_EXIST.getErrorResponse());
+    }
+    if (searchResults.isEmpty()) {
+      throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
+    }
+
+    int totalPages = (int) Math.ceil((double) totalSize / PAGE_SIZE);
+    boolean lastPage = page >= totalPages || searchResults.size() < PAGE_SIZE;
+
+    String nextCursor = null;
+    if (!lastPage) {
+      nextCursor = SearchCursor.builder()
+          .mode(searchPage.getMode())
+          .page(page)
+          .total(totalSize)
+          .score(searchPage.getLastScore())
+          .id(searchPage.getLastId())
+          .build()
+          .encode();
+    }
+
+    return MedicineSearchPageRes.builder().total(totalSize)
+        .totalPage(totalPages).page(page)
+        .lastPage(lastPage)
+        .medicineSearchList(toSearchResList(member.getId(), searchResults))
+        .searchMode(searchPage.getMode())
+        .nextCursor(nextCursor).build();
+  }
+
+  /**
+   * elasticsearch에서 cursor 다음 페이지를 검색합니다. 첫 페이지는 검색어의 형태에 맞는 필드로 검색하고, 검색결과가
+   * 없으면 자모 필드, 오타를 허용한 검색 순서로 다시 찾습니다.
+   *
+   * @param name     의약품 검색어
+   * @param previous 이전 페이지의 cursor. 첫 페이지는 null
+   * @return 검색결과와 마지막 검색결과의 정렬값
+   */
+  private CursorPage searchAfter(String name, SearchCursor previous) {
+    SearchMode mode;
+    int page;
+    int totalSize;
+    SearchHits<MedicineSearch> searchHits;
+    if (previous == null) {
+      mode = selectMode(name);
+      page = 1;
+      searchHits = repository.searchAfter(mode, toKeyword(mode, name), null, PAGE_SIZE);
+      boolean canFallbackToFuzzy = mode == SearchMode.NAME;
+      if (searchHits.getTotalHits() == 0 && canFallbackToJamo(mode, name)) {
+        mode = SearchMode.JAMO;
+        searchHits = repository.searchAfter(mode, toKeyword(mode, name), null, PAGE_SIZE);
+      }
+      if (searchHits.getTotalHits() == 0 && canFallbackToFuzzy) {
+        mode = SearchMode.FUZZY;
+        searchHits = repository.searchAfter(SearchMode.FUZZY, name, null, PAGE_SIZE);
+      }
+      totalSize = (int) searchHits.getTotalHits();
+    } else {
+      mode = previous.getMode();
+      page = previous.getPage() + 1;
+      totalSize = previous.getTotal();
+      searchHits = repository.searchAfter(mode, toKeyword(mode, name),
+          previous.getSearchAfter(), PAGE_SIZE);
+    }
+
+    List<MedicineSearch> searchResults =
+        searchHits.stream().map(SearchHit::getContent).collect(Collectors.toList());
+    float lastScore = 0;
+    int lastId = 0;
+    if (!searchResults.isEmpty()) {
+      List<Object> sortValues = searchHits.getSearchHit(searchResults.size() - 1).getSortValues();
+      lastScore = ((Number) sortValues.get(0)).floatValue();
+      lastId = ((Number) sortValues.get(1)).intValue();
+    }
+
+    return new CursorPage(mode, page, totalSize, toRedisList(searchResults), lastScore, lastId);
+  }
+
+  /**
+   * 내장 index에서 cursor 다음 페이지를 검색합니다. 내장 index는 작아서 앞 페이지를 건너뛰는 비용이 적으므로
+   * cursor의 페이지 번호로 조회합니다.
+   *
+   * @param name     의약품 검색어
+   * @param previous 이전 페이지의 cursor. 첫 페이지는 null
+   * @return 검색결과. 마지막 검색결과의 score는 내장 index에서 만든 cursor임을 나타내는 -1입니다.
+   */
+  private CursorPage searchLocalAfter(String name, SearchCursor previous) {
+    SearchMode mode;
+    int page;
+    int totalSize;
+    List<MedicineSearchRedis> searchResults;
+    if (previous == null) {
+      MedicineSearchPageRedis firstPage = searchLocal(name, PageRequest.of(0, PAGE_SIZE));
+      mode = firstPage.getSearchMode();
+      page = 1;
+      totalSize = firstPage.getTotal();
+      searchResults = firstPage.getMedicines();
+    } else {
+      mode = previous.getMode();
+      page = previous.getPage() + 1;
+      totalSize = previous.getTotal();
+      searchResults = toRedisList(localSearchService.search(mode, toKeyword(mode, name),
+          PageRequest.of(page - 1, PAGE_SIZE)).getContent());
+    }
+
+    int lastId = searchResults.isEmpty() ? 0 : searchResults.get(searchResults.size() - 1).getId();
+    return new CursorPage(mode, page, totalSize, searchResults, -1, lastId);
+  }
+
+  /**
+   * 특정 name의 medicine 검색결과를 제약회사와 성분으로 거른 결과를 반환합니다. 제약회사별 개수는 성분 조건만,
+   * 성분별 개수는 제약회사 조건만 적용해서 함께 반환하므로 다음에 거를 조건을 고를 수 있습니다.
+   *
+   * @param name        의약품 검색어
+   * @param companies   제약회사. 하나라도 일치하는 의약품을 포함합니다.
+   * @param ingredients 성분. 모두 포함하는 의약품만 남깁니다.
+   * @param page        검색결과 페이지
+   * @return 특정 page의 검색결과와 제약회사별, 성분별 의약품 개수
+   */
+  public MedicineFacetSearchPageRes getMedicineSearchesByFacets(String name,
+      List<String> companies, List<String> ingredients, int page) {
+    Member member = memberService.getLoginMember();
+    if (name.isEmpty()) {
+      throw new BadRequestException(KEYWORD_NOT_EXIST.getErrorResponse());
+    }
+    if (page < 1) {
+      throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
+    }
+    if (!indexService.isFacetReady()) {
+      throw new BadRequestException(SEARCH_FACET_UNAVAILABLE.getErrorResponse());
+    }
+
+    SearchHits<MedicineSearch> searchHits = repository.searchByFacets(name,
+        normalizeFacets(companies), normalizeFacets(ingredients),
+        PageRequest.of(page - 1, PAGE_SIZE), FACET_SIZE);
+    int totalSize = (int) searchHits.getTotalHits();
+    int totalPages = (int) Math.ceil((double) totalSize / PAGE_SIZE);
+
+    if (totalSize == 0) {
+      throw new BadRequestException(SEARCH_RESULT_NOT_EXIST.getErrorResponse());
+    }
+    if (page > totalPages) {
+      throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
+    }
+
+    List<MedicineSearch> searchResults =
+        searchHits.stream().map(SearchHit::getContent).collect(Collectors.toList());
+
+    return MedicineFacetSearchPageRes.builder().total(totalSize)
+        .totalPage(totalPages).page(page)
+        .lastPage(page == totalPages)
+        .medicineSearchList(toSearchResList(member.getId(), toRedisList(searchResults)))
+        .companies(toFacetCounts(searchHits, MedicineSearchRepositoryCustom.COMPANY_FACET,
+            "company"))
+        .ingredients(toFacetCounts(searchHits, MedicineSearchRepositoryCustom.INGREDIENT_FACET,
+            "ingredients"))
+        .build();
+  }
+
+  /**
+   * 색인할 때와 같이 앞뒤 공백을 없애고 연속된 공백을 하나로 줄입니다. 빈 값은 제외합니다.
+   */
+  private static List<String> normalizeFacets(List<String> values) {
+    if (values == null) {
+      return List.of();
+    }
+
+    return values.stream()
+        .map(value -> value.trim().replaceAll("\\s+", " "))
+        .filter(value -> !value.isEmpty())
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  private static List<FacetCountRes> toFacetCounts(SearchHits<MedicineSearch> searchHits,
+      String aggregationName, String sourceField) {
+    if (!(searchHits.getAggregations() instanceof ElasticsearchAggregations)) {
+      return List.of();
+    }
+
+    Filter filter = ((ElasticsearchAggregations) searchHits.getAggregations()).aggregations()
+        .get(aggregationName);
+    if (filter == null) {
+      return List.of();
+    }
+    Terms terms = filter.getAggregations().get(aggregationName);
+    if (terms == null) {
+      return List.of();
+    }
 
+    return terms.getBuckets().stream()
+        .map(bucket -> FacetCountRes.builder()
+            .value(toFacetValue(bucket, sourceField))
+            .count(bucket.getDocCount())
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * facet 값은 normalizer로 소문자와 반각 문자로 바뀌어 있으므로, 함께 받아온 문서의 sourceField에서 같은 값으로
+   * 바뀌는 원래 값을 찾습니다. 찾지 못하면 facet 값을 그대로 반환합니다.
+   */
+  private static String toFacetValue(Terms.Bucket bucket, String sourceField) {
+    String key = bucket.getKeyAsString();
+    TopHits topHits = bucket.getAggregations() == null ? null
+        : bucket.getAggregations().get(MedicineSearchRepositoryCustom.FACET_VALUE);
+    if (topHits == null) {
+      return key;
+    }
+
+    String normalizedKey = normalizeFacetKey(key);
+    return Arrays.stream(topHits.getHits().getHits())
+        .map(hit -> hit.getSourceAsMap().get(sourceField))
+        .flatMap(value -> value instanceof List ? ((List<?>) value).stream() : Stream.of(value))
+        .filter(value -> value instanceof String)
+        .map(value -> (String) value)
+        .filter(value -> normalizeFacetKey(value).equals(normalizedKey))
+        .findFirst()
+        .orElse(key);
+  }
+
+  /**
+   * index의 facet_normalizer와 같이 전각 문자를 반각 문자로, 대문자를 소문자로 바꿉니다.
+   */
+  private static String normalizeFacetKey(String value) {
+    return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 검색어의 형태에 맞는 필드로 검색합니다. 일반 검색결과가 없는 한글 검색어는 자모 필드에서 다시 찾고, 그래도
+   * 없으면 오타를 허용해서 다시 찾습니다. 오타를 허용한 검색이 실패하거나 시간이 지나면 예외를 그대로 던져서, 빈
+   * 검색결과나 일부 검색결과가 캐시되지 않고 내장 index로 검색하도록 합니다.
+   *
+   * @param name     의약품 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수, 검색에 사용한 방법
+   */
+  private MedicineSearchPageRedis search(String name, Pageable pageable) {
+    SearchMode mode = selectMode(name);
+    Page<MedicineSearch> searchResults;
+    if (mode == SearchMode.CHOSEONG) {
+      searchResults = repository.searchByChoseong(toKeyword(mode, name), pageable);
+    } else if (mode == SearchMode.JAMO) {
+      searchResults = repository.searchByJamo(toKeyword(mode, name), pageable);
+    } else {
+      searchResults = repository.searchByName(name, pageable);
+      if (searchResults.getTotalElements() == 0 && canFallbackToJamo(mode, name)) {
+        mode = SearchMode.JAMO;
+        searchResults = repository.searchByJamo(toKeyword(mode, name), pageable);
+      }
+      if (searchResults.getTotalElements() == 0) {
+        mode = SearchMode.FUZZY;
+        searchResults = repository.searchByFuzzyName(name, pageable);
+      }
+    }
+
+    return MedicineSearchPageRedis.builder()
+        .total((int) searchResults.getTotalElements())
+        .searchMode(mode)
+        .medicines(toRedisList(searchResults.getContent()))
+        .build();
+  }
+
+  /**
+   * 내장 index에서 elasticsearch와 같은 순서로 검색 필드를 바꿔가며 검색합니다. 내장 index에는 초성, 자모
+   * 필드가 항상 있습니다.
+   *
+   * @param name     의약품 검색어
+   * @param pageable 조회할 페이지
+   * @return 검색결과와 전체 개수, 검색에 사용한 방법
+   */
+  private MedicineSearchPageRedis searchLocal(String name, Pageable pageable) {
+    SearchMode mode = selectLocalMode(name);
+    Page<MedicineSearch> searchResults =
+        localSearchService.search(mode, toKeyword(mode, name), pageable);
+    if (mode == SearchMode.NAME) {
+      if (searchResults.getTotalElements() == 0 && HangulUtils.containsHangul(name)) {
+        mode = SearchMode.JAMO;
+        searchResults = localSearchService.search(mode, toKeyword(mode, name), pageable);
+      }
+      if (searchResults.getTotalElements() == 0) {
+        mode = SearchMode.FUZZY;
+        searchResults = localSearchService.search(mode, name, pageable);
+      }
+    }
+
+    return MedicineSearchPageRedis.builder()
+        .total((int) searchResults.getTotalElements())
+        .searchMode(mode)
+        .medicines(toRedisList(searchResults.getContent()))
+        .build();
+  }
+
+  private static SearchMode selectLocalMode(String name) {
+    if (HangulUtils.isChoseongOnly(name)) {
+      return SearchMode.CHOSEONG;
+    }
+    if (HangulUtils.containsJamo(name)) {
+      return SearchMode.JAMO;
+    }
+
+    return SearchMode.NAME;
+  }
+
+  /**
+   * ㅌㅁㅍㄹ처럼 초성만 입력하면 초성 필드를, 완성되지 않은 자모가 섞여 있으면 자모 필드를 선택합니다.
+   */
+  private SearchMode selectMode(String name) {
+    if (indexService.isHangulReady() && HangulUtils.isChoseongOnly(name)) {
+      return SearchMode.CHOSEONG;
+    }
+    if (indexService.isHangulReady() && HangulUtils.containsJamo(name)) {
+      return SearchMode.JAMO;
+    }
+
+    return SearchMode.NAME;
+  }
+
+  /**
+   * 타이렌처럼 다음 글자의 자음이 받침으로 붙은 채 입력된 한글 검색어는 자모 필드에서 다시 찾을 수 있습니다.
+   */
+  private boolean canFallbackToJamo(SearchMode mode, String name) {
+    return mode == SearchMode.NAME && indexService.isHangulReady()
+        && HangulUtils.containsHangul(name);
+  }
+
+  private static String toKeyword(SearchMode mode, String name) {
+    switch (mode) {
+      case CHOSEONG:
+        return HangulUtils.choseong(name);
+      case JAMO:
+        return HangulUtils.jamo(name);
+      default:
+        return name;
+    }
+  }
+
+  private static SearchCursor decodeCursor(String cursor) {
+    try {
+      return SearchCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(SEARCH_CURSOR_INVALID.getErrorResponse());
+    }
+  }
+
+  /**
+   * 검색결과에서 사용자와 관계없는 정보만 남깁니다.
+   *
+   * @param searchResults elasticsearch 검색결과
+   * @return 캐시할 수 있는 검색결과
+   */
+  private List<MedicineSearchRedis> toRedisList(List<MedicineSearch> searchResults) {
+    return searchResults.stream()
+        .map(medicine -> MedicineSearchRedis.builder()
+            .id(medicine.getId())
+            .name(medicine.getName())
+            .company(medicine.getCompany())
+            .image(medicine.getImage())
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 검색결과에 로그인한 사용자의 즐겨찾기 여부를 붙여 응답으로 변환합니다.
+   *
+   * @param memberId      로그인한 member의 id
+   * @param searchResults 검색결과
+   * @return 검색결과 응답
+   */
+  private List<MedicineSearchRes> toSearchResList(int memberId,
+      List<MedicineSearchRedis> searchResults) {
+    Set<Integer> favoriteIds = favoriteService.getFavoriteMedicineIds(memberId,
+        searchResults.stream().map(MedicineSearchRedis::getId).collect(Collectors.toList()));
     List<MedicineSearchRes> searchResponse = new ArrayList<>();
 
-    for (MedicineSearch medicine : searchResults) {
+    for (MedicineSearchRedis medicine : searchResults) {
       MedicineSearchRes medicineSearch = MedicineSearchRes.builder()
           .id(medicine.getId())
           .name(medicine.getName())
           .company(medicine.getCompany())
           .image(medicine.getImage())
-          .isFavorite(
-              favoriteService.existsByMemberIdAndMedicineId(member.getId(), medicine.getId()))
+          .isFavorite(favoriteIds.contains(medicine.getId()))
           .build();
 
       searchResponse.add(medicineSearch);
     }
 
-    boolean lastPage = (page == totalPages);
-
-    MedicineSearchPageRes response = MedicineSearchPageRes.builder().total(totalSize)
-        .totalPage(totalPages).page(page)
-        .lastPage(lastPage).medicineSearchList(searchResponse).build();
-
-    return response;
+    return searchResponse;
   }
 
   /**
@@ -93,6 +543,45 @@ public class MedicineSearchService {
     if (name.isEmpty()) {
       throw new BadRequestException(KEYWORD_NOT_EXIST.getErrorResponse());
     }
+    return coalescingService.getKeywords(name, () -> suggestNamesByKeyword(name));
+  }
+
+  private List<String> suggestNamesByKeyword(String name) {
+    SearchMode mode = selectMode(name);
+    if (mode == SearchMode.CHOSEONG) {
+      String choseong = toKeyword(mode, name);
+      return localSearchService.withFallback(
+          () -> repository.suggestNamesByChoseong(choseong, KEYWORD_SIZE),
+          () -> localSearchService.suggestNames(SearchMode.CHOSEONG, choseong, KEYWORD_SIZE));
+    }
+    if (mode == SearchMode.JAMO) {
+      return suggestNamesByJamo(name);
+    }
+    if (nameIndexService.isReady()) {
+      List<String> names = nameIndexService.search(name, KEYWORD_SIZE);
+      if (names.isEmpty() && canFallbackToJamo(mode, name)) {
+        return suggestNamesByJamo(name);
+      }
+      return names;
+    }
+    // 이름 index가 만들어지기 전에는 elasticsearch로 찾습니다.
+    return localSearchService.withFallback(() -> suggestNames(name),
+        () -> localSearchService.suggestNames(SearchMode.NAME, name, KEYWORD_SIZE));
+  }
+
+  private List<String> suggestNamesByJamo(String name) {
+    String jamo = toKeyword(SearchMode.JAMO, name);
+    return localSearchService.withFallback(
+        () -> repository.suggestNamesByJamo(jamo, KEYWORD_SIZE),
+        () -> localSearchService.suggestNames(SearchMode.JAMO, jamo, KEYWORD_SIZE));
+  }
+
+  private List<String> suggestNames(String name) {
+    if (indexService.isAutocompleteReady()) {
+      return repository.suggestNames(name, KEYWORD_SIZE);
+    }
+
+    // 자동완성 필드가 추가되기 전에는 전체 검색으로 연관검색어를 찾습니다.
     List<MedicineSearch> searchResults = repository.findByName(name,
         PageRequest.of(0, KEYWORD_SIZE));
 
@@ -123,6 +612,16 @@ public class MedicineSearchService {
     }
 
     redisTemplate.opsForList().leftPush(key, value);
+    trendService.record(name);
+  }
+
+  /**
+   * 전체 사용자의 최근 검색어 중 인기 검색어를 TRENDING_KEYWORD_SIZE만큼 반환합니다.
+   *
+   * @return 인기 검색어들
+   */
+  public List<String> getTrendingKeywords() {
+    return trendService.getTrendingKeywords();
   }
 
   /**
@@ -182,4 +681,19 @@ public class MedicineSearchService {
   private String searchLogKey(int memberId) {
     return memberId + " SearchLog";
   }
+
+  /**
+   * cursor로 조회한 한 페이지의 검색결과와 다음 cursor를 만들 값
+   */
+  @Getter
+  @AllArgsConstructor
+  private static class CursorPage {
+
+    private final SearchMode mode;
+    private final int page;
+    private final int total;
+    private final List<MedicineSearchRedis> medicines;
+    private final float lastScore;
+    private final int lastId;
+  }
 }
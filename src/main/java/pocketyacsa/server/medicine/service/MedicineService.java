@@ -1,20 +1,47 @@
 package pocketyacsa.server.medicine.service;
 
+import static pocketyacsa.server.common.utility.Constant.MEDICINE_BATCH_SIZE;
+import static pocketyacsa.server.common.utility.Constant.PAGE_SIZE;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.KEYWORD_NOT_EXIST;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.MEDICINE_IDS_OUT_OF_RANGE;
 import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.MEDICINE_NOT_EXIST;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.PAGE_OUT_OF_RANGE;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_RESULT_NOT_EXIST;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SECTION_UNAVAILABLE;
 
-import java.io.BufferedInputStream;
-import java.io.InputStream;
-import java.net.URL;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.util.DigestUtils;
 import pocketyacsa.server.common.exception.BadRequestException;
 import pocketyacsa.server.medicine.domain.entity.Medicine;
+import pocketyacsa.server.medicine.domain.entity.MedicineDocument;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
 import pocketyacsa.server.medicine.domain.response.MedicineRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSearchPageRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSearchRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSectionRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSummaryRes;
+import pocketyacsa.server.medicine.domain.response.SectionStatus;
 import pocketyacsa.server.medicine.repository.FavoriteRepository;
+import pocketyacsa.server.medicine.repository.MedicineIngredientRepository;
 import pocketyacsa.server.medicine.repository.MedicineRepository;
 import pocketyacsa.server.member.entity.Member;
 import pocketyacsa.server.member.service.MemberService;
@@ -26,6 +53,15 @@ public class MedicineService {
   private final MemberService memberService;
   private final MedicineRepository repository;
   private final FavoriteRepository favoriteRepository;
+  private final MedicineIngredientRepository medicineIngredientRepository;
+  private final MedicineDocumentService documentService;
+  private final MedicineIngredientService ingredientService;
+
+  /**
+   * 의약품 상세조회 한 번에 nedrug 문서를 기다리는 최대 시간
+   */
+  @Value("${nedrug.detail-deadline:4s}")
+  private Duration detailDeadline;
 
   /**
    * 특정 id의 medicine을 반환합니다.
@@ -58,14 +94,61 @@ public class MedicineService {
   }
 
   /**
-   * '/'로 구분되어 있는 ingredient 문자열을 List 형태로 성분별로 나누어 저장합니다.
+   * '|'로 구분되어 있는 ingredient 문자열을 List 형태로 성분별로 나누어 저장합니다.
    *
-   * @param ingredient '/'로 구분되어 있는 ingredient 문자열
+   * @param ingredient '|'로 구분되어 있는 ingredient 문자열
    * @return ingredient를 종류별로 저장하는 List
    */
   public List<String> getIngredientList(String ingredient) {
-    List<String> list = Arrays.asList(ingredient.split("\\|"));
-    return list;
+    return MedicineIngredientService.parse(ingredient);
+  }
+
+  /**
+   * 특정 성분을 포함하는 medicine 목록을 반환합니다. page를 넘겨줌으로써 특정 페이지의 정보로 제공됩니다.
+   *
+   * @param ingredient 성분 이름
+   * @param page       조회할 페이지
+   * @return 특정 page의 성분을 포함하는 medicine 목록
+   */
+  public MedicineSearchPageRes getMedicinesByIngredientAndPage(String ingredient, int page) {
+    Member member = memberService.getLoginMember();
+    if (ingredient.isBlank()) {
+      throw new BadRequestException(KEYWORD_NOT_EXIST.getErrorResponse());
+    }
+    String name = ingredient.trim();
+    int totalSize = medicineIngredientRepository.countByIngredientName(name);
+    int totalPages = (int) Math.ceil((double) totalSize / PAGE_SIZE);
+
+    if (totalSize == 0) {
+      throw new BadRequestException(SEARCH_RESULT_NOT_EXIST.getErrorResponse());
+    }
+    if (page < 1 || page > totalPages) {
+      throw new BadRequestException(PAGE_OUT_OF_RANGE.getErrorResponse());
+    }
+
+    List<Medicine> medicines = medicineIngredientRepository.findMedicinesByIngredientName(name,
+        PageRequest.of(page - 1, PAGE_SIZE));
+
+    Set<Integer> favoriteIds = new HashSet<>(favoriteRepository
+        .findMedicineIdsByMemberIdAndMedicineIdIn(member.getId(),
+            medicines.stream().map(Medicine::getId).collect(Collectors.toList())));
+    List<MedicineSearchRes> medicineList = medicines.stream()
+        .map(medicine -> MedicineSearchRes.builder()
+            .id(medicine.getId())
+            .name(medicine.getName())
+            .company(medicine.getCompany())
+            .image(medicine.getImage())
+            .isFavorite(favoriteIds.contains(medicine.getId()))
+            .build())
+        .collect(Collectors.toList());
+
+    return MedicineSearchPageRes.builder()
+        .total(totalSize)
+        .totalPage(totalPages)
+        .page(page)
+        .lastPage(page == totalPages)
+        .medicineSearchList(medicineList)
+        .build();
   }
 
   /**
@@ -77,47 +160,232 @@ public class MedicineService {
   public MedicineRes getMedicineResById(int id) {
     Member member = memberService.getLoginMember();
     Medicine medicine = getMedicineById(id);
+    long deadline = System.nanoTime() + detailDeadline.toNanos();
+    Map<MedicineSection, CompletableFuture<String>> documents =
+        getDocumentsAsync(medicine.getCode(), documentService::getDocumentAsync);
     boolean isFavorite =
         favoriteRepository.existsByMemberIdAndMedicineId(member.getId(), medicine.getId());
 
-    MedicineRes medicineRes = MedicineRes.builder()
+    return toMedicineRes(medicine, ingredientService.getIngredientNames(medicine),
+        awaitDocuments(documents, deadline), isFavorite);
+  }
+
+  /**
+   * 여러 id의 클라이언트에게 전달할 Medicine 정보를 한 번에 반환합니다. medicine과 즐겨찾기 여부, 성분은 각각
+   * 한 번의 쿼리로 조회하고, 의약품 정보 문서는 여러 의약품 조회 전용 executor에서 동시에 받아옵니다. 존재하지
+   * 않는 id는 제외하고 요청한 순서대로 반환합니다.
+   *
+   * @param ids medicine의 id 목록
+   * @return 요청한 순서대로의 medicine 정보
+   */
+  public List<MedicineRes> getMedicineResByIds(List<Integer> ids) {
+    List<Integer> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+    if (distinctIds.isEmpty() || distinctIds.size() > MEDICINE_BATCH_SIZE) {
+      throw new BadRequestException(MEDICINE_IDS_OUT_OF_RANGE.getErrorResponse());
+    }
+
+    Member member = memberService.getLoginMember();
+    Map<Integer, Medicine> medicines = repository.findAllById(distinctIds).stream()
+        .collect(Collectors.toMap(Medicine::getId, medicine -> medicine));
+    if (medicines.isEmpty()) {
+      throw new BadRequestException(MEDICINE_NOT_EXIST.getErrorResponse());
+    }
+
+    long deadline = System.nanoTime() + detailDeadline.toNanos();
+    Map<Integer, Map<MedicineSection, CompletableFuture<String>>> documents = new HashMap<>();
+    // 최대 60개의 문서를 요청하므로 상세조회와 다른 executor에서 받아와 상세조회가 밀리지 않도록 합니다.
+    medicines.values().forEach(medicine -> documents.put(medicine.getId(),
+        getDocumentsAsync(medicine.getCode(), documentService::getBatchDocumentAsync)));
+    Set<Integer> favoriteIds = new HashSet<>(favoriteRepository
+        .findMedicineIdsByMemberIdAndMedicineIdIn(member.getId(), medicines.keySet()));
+    Map<Integer, List<String>> ingredients =
+        ingredientService.getIngredientNames(new ArrayList<>(medicines.values()));
+
+    return distinctIds.stream()
+        .filter(medicines::containsKey)
+        .map(id -> toMedicineRes(medicines.get(id), ingredients.get(id),
+            awaitDocuments(documents.get(id), deadline), favoriteIds.contains(id)))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 클라이언트에게 전달할 Medicine 정보의 strong ETag를 반환합니다. 이미 만든 응답의 값으로 계산하므로 DB나
+   * redis를 다시 조회하지 않습니다. 받아오지 못한 문서가 있는 응답은 클라이언트가 재사용하지 않도록 null을
+   * 반환합니다.
+   *
+   * @param medicine 클라이언트에게 전달할 Medicine 정보
+   * @return 따옴표로 감싼 ETag, 받아오지 못한 문서가 있으면 null
+   */
+  public String getMedicineResEtag(MedicineRes medicine) {
+    boolean complete = medicine.getSectionStatus().values().stream()
+        .allMatch(status -> status == SectionStatus.OK);
+    if (!complete) {
+      return null;
+    }
+
+    String source = String.join("|", String.valueOf(medicine.getId()), medicine.getCode(),
+        medicine.getName(), medicine.getCompany(), String.valueOf(medicine.getIngredient()),
+        medicine.getImage(), medicine.getEffect(), medicine.getUsages(),
+        medicine.getPrecautions(), String.valueOf(medicine.isFavorite()));
+    return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  /**
+   * 저장된 의약품 정보 문서의 strong ETag를 반환합니다.
+   *
+   * @param document 저장된 의약품 정보 문서
+   * @param variant  같은 문서의 다른 표현(압축 여부 등)을 구분하는 값
+   * @return 따옴표로 감싼 ETag, 문서의 contentHash가 없으면 null
+   */
+  public String getDocumentEtag(MedicineDocument document, String variant) {
+    if (document.getContentHash() == null) {
+      return null;
+    }
+
+    return "\"" + document.getContentHash() + "-" + variant + "\"";
+  }
+
+  /**
+   * 특정 id의 클라이언트에게 전달할 Medicine 정보 중 의약품 정보 html을 제외한 정보를 반환합니다.
+   *
+   * @param id medicine의 id
+   * @return 특정 id의 medicine 요약 정보
+   */
+  public MedicineSummaryRes getMedicineSummaryResById(int id) {
+    Member member = memberService.getLoginMember();
+    Medicine medicine = getMedicineById(id);
+    boolean isFavorite =
+        favoriteRepository.existsByMemberIdAndMedicineId(member.getId(), medicine.getId());
+
+    return MedicineSummaryRes.builder()
         .id(medicine.getId())
         .code(medicine.getCode())
         .name(medicine.getName())
         .company(medicine.getCompany())
-        .ingredient(getIngredientList(medicine.getIngredient()))
+        .ingredient(ingredientService.getIngredientNames(medicine))
         .image(medicine.getImage())
-        .effect(getHtmlString("/EE", medicine.getCode()))
-        .usages(getHtmlString("/UD", medicine.getCode()))
-        .precautions(getHtmlString("/NB", medicine.getCode()))
         .isFavorite(isFavorite)
         .build();
+  }
 
-    return medicineRes;
+  /**
+   * 특정 id의 medicine의 의약품 정보 하나를 반환합니다.
+   *
+   * @param id      medicine의 id
+   * @param section 의약품 정보의 종류
+   * @return 특정 종류의 의약품 정보
+   */
+  public MedicineSectionRes getMedicineSectionResById(int id, MedicineSection section) {
+    return getMedicineSectionRes(getMedicineDocument(id, section));
   }
 
   /**
-   * 의약품 html 다운로드 링크에서 받은 html파일을 String으로 반환합니다.
+   * 저장된 의약품 정보 문서를 클라이언트에게 전달할 형태로 변환합니다.
    *
-   * @param suffix url code 뒷부분
-   * @param code   medicine의 code
-   * @return 의약품 정보의 html 문자열
+   * @param document 저장된 의약품 정보 문서
+   * @return 의약품 정보
    */
-  public String getHtmlString(String suffix, String code) {
+  public MedicineSectionRes getMedicineSectionRes(MedicineDocument document) {
+    return MedicineSectionRes.builder()
+        .section(document.getSection())
+        .content(document.getContent())
+        .status(SectionStatus.OK)
+        .build();
+  }
+
+  /**
+   * 특정 id의 medicine의 저장된 의약품 정보 문서를 반환합니다.
+   *
+   * @param id      medicine의 id
+   * @param section 의약품 정보의 종류
+   * @return 저장된 의약품 정보 문서
+   */
+  public MedicineDocument getMedicineDocument(int id, MedicineSection section) {
+    Medicine medicine = getMedicineById(id);
     try {
-      String htmlURL =
-          "https://nedrug.mfds.go.kr/pbp/cmn/html/drb/" + code + suffix; // 다운로드할 HTML 파일의 링크
+      return documentService.getStoredDocument(medicine.getCode(), section);
+    } catch (RuntimeException e) {
+      throw new BadRequestException(SECTION_UNAVAILABLE.getErrorResponse());
+    }
+  }
+
+  /**
+   * 의약품 정보 문서들을 동시에 받아오기 시작합니다.
+   *
+   * @param code    medicine의 code
+   * @param fetcher 문서 하나를 받아오기 시작하는 함수
+   * @return 의약품 정보 종류별 html 문자열을 담을 future
+   */
+  private Map<MedicineSection, CompletableFuture<String>> getDocumentsAsync(String code,
+      BiFunction<String, MedicineSection, CompletableFuture<String>> fetcher) {
+    Map<MedicineSection, CompletableFuture<String>> documents =
+        new EnumMap<>(MedicineSection.class);
+    for (MedicineSection section : MedicineSection.values()) {
+      documents.put(section, fetcher.apply(code, section));
+    }
+
+    return documents;
+  }
 
-      URL url = new URL(htmlURL);
-      InputStream inputStream = new BufferedInputStream(url.openStream());
+  /**
+   * deadline까지 의약품 정보 문서들을 기다립니다. deadline까지 받지 못한 문서는 TIMEOUT으로 표시합니다.
+   *
+   * @param documents 의약품 정보 종류별 html 문자열을 담을 future
+   * @param deadline  System.nanoTime() 기준의 마감 시각
+   * @return 의약품 정보 종류별 조회 결과
+   */
+  private Map<MedicineSection, MedicineSectionRes> awaitDocuments(
+      Map<MedicineSection, CompletableFuture<String>> documents, long deadline) {
+    Map<MedicineSection, MedicineSectionRes> sections = new EnumMap<>(MedicineSection.class);
+    documents.forEach((section, document) ->
+        sections.put(section, awaitDocument(section, document, deadline)));
 
-      // HTML 파일의 내용을 읽어옴
-      byte[] htmlBytes = FileCopyUtils.copyToByteArray(inputStream);
-      String htmlContent = new String(htmlBytes, "UTF-8");
+    return sections;
+  }
 
-      return htmlContent;
-    } catch (Exception e) {
-      return "";
+  private MedicineSectionRes awaitDocument(MedicineSection section,
+      CompletableFuture<String> document, long deadline) {
+    String content = "";
+    SectionStatus status;
+    try {
+      long remaining = Math.max(0, deadline - System.nanoTime());
+      content = document.get(remaining, TimeUnit.NANOSECONDS);
+      status = SectionStatus.OK;
+    } catch (TimeoutException e) {
+      status = SectionStatus.TIMEOUT;
+    } catch (ExecutionException e) {
+      status = SectionStatus.FAILED;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      status = SectionStatus.FAILED;
     }
+
+    return MedicineSectionRes.builder()
+        .section(section)
+        .content(content)
+        .status(status)
+        .build();
+  }
+
+  private MedicineRes toMedicineRes(Medicine medicine, List<String> ingredients,
+      Map<MedicineSection, MedicineSectionRes> sections, boolean isFavorite) {
+    Map<MedicineSection, SectionStatus> sectionStatus = new EnumMap<>(MedicineSection.class);
+    sections.forEach((section, sectionRes) -> sectionStatus.put(section, sectionRes.getStatus()));
+
+    MedicineRes medicineRes = MedicineRes.builder()
+        .id(medicine.getId())
+        .code(medicine.getCode())
+        .name(medicine.getName())
+        .company(medicine.getCompany())
+        .ingredient(ingredients)
+        .image(medicine.getImage())
+        .effect(sections.get(MedicineSection.EFFECT).getContent())
+        .usages(sections.get(MedicineSection.USAGES).getContent())
+        .precautions(sections.get(MedicineSection.PRECAUTIONS).getContent())
+        .isFavorite(isFavorite)
+        .sectionStatus(sectionStatus)
+        .build();
+
+    return medicineRes;
   }
 }
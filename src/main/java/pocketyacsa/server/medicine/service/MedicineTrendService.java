@@ -0,0 +1,148 @@
+package pocketyacsa.server.medicine.service;
+
+import static pocketyacsa.server.common.utility.Constant.TRENDING_KEYWORD_SIZE;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisZSetCommands.Aggregate;
+import org.springframework.data.redis.connection.RedisZSetCommands.Weights;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 전체 사용자의 검색어를 시간 구간별 redis sorted set에 모아 인기 검색어를 계산합니다. 검색어는 메모리에 모았다가
+ * 주기적으로 한 번의 pipeline으로 반영하고, 인기 검색어는 주기적으로 갱신한 snapshot에서 반환하므로 검색과 조회
+ * 요청이 redis를 기다리지 않습니다.
+ */
+@Slf4j
+@Service
+public class MedicineTrendService {
+
+  private static final String BUCKET_KEY_PREFIX = "MedicineSearch Trend ";
+
+  private static final String SNAPSHOT_KEY = "MedicineSearch Trend Snapshot";
+
+  private static final int MAX_TERM_LENGTH = 50;
+
+  private final StringRedisTemplate redisTemplate;
+  private final long bucketSeconds;
+  private final int bucketCount;
+  private final double decay;
+
+  /**
+   * flush에서 반영할 검색어별 개수. 더하기와 꺼내기가 모두 key 단위로 원자적이므로, flush하는 동안 더한 개수는
+   * 다음 flush에서 반영됩니다.
+   */
+  private final ConcurrentHashMap<String, Long> pending = new ConcurrentHashMap<>();
+
+  private volatile List<String> snapshot = List.of();
+
+  public MedicineTrendService(
+      StringRedisTemplate redisTemplate,
+      @Value("${medicine.trend.bucket:10m}") Duration bucket,
+      @Value("${medicine.trend.window:24h}") Duration window,
+      @Value("${medicine.trend.decay:0.9}") double decay) {
+    this.redisTemplate = redisTemplate;
+    this.bucketSeconds = Math.max(bucket.getSeconds(), 1);
+    this.bucketCount = (int) Math.max(window.getSeconds() / bucketSeconds, 1);
+    this.decay = decay;
+  }
+
+  /**
+   * 검색어를 인기 검색어 집계에 추가합니다. 메모리에만 더하고 redis에는 flush에서 반영합니다.
+   *
+   * @param name 검색어
+   */
+  public void record(String name) {
+    String term = MedicineSearchCacheService.normalize(name);
+    if (term.isEmpty() || term.length() > MAX_TERM_LENGTH) {
+      return;
+    }
+    pending.merge(term, 1L, Long::sum);
+  }
+
+  /**
+   * 마지막 snapshot의 인기 검색어를 TRENDING_KEYWORD_SIZE만큼 반환합니다.
+   *
+   * @return 인기 검색어들
+   */
+  public List<String> getTrendingKeywords() {
+    return snapshot;
+  }
+
+  /**
+   * 모아둔 검색어 개수를 현재 구간의 sorted set에 한 번의 pipeline으로 더합니다. 구간 key는 window가 지나면
+   * 만료됩니다. 인기 검색어는 추세를 보는 값이므로 반영에 실패한 개수는 다시 시도하지 않습니다.
+   */
+  @Scheduled(fixedDelayString = "${medicine.trend.flush-interval:PT1S}")
+  public void flush() {
+    Map<String, Long> counts = new HashMap<>();
+    for (String term : pending.keySet()) {
+      Long count = pending.remove(term);
+      if (count != null) {
+        counts.put(term, count);
+      }
+    }
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    String key = bucketKey(currentBucket());
+    long ttl = bucketSeconds * (bucketCount + 1);
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        StringRedisConnection stringConnection = (StringRedisConnection) connection;
+        counts.forEach((term, count) -> stringConnection.zIncrBy(key, count, term));
+        stringConnection.expire(key, ttl);
+        return null;
+      });
+    } catch (DataAccessException e) {
+      log.debug("인기 검색어를 반영하지 못했습니다. terms={}", counts.size(), e);
+    }
+  }
+
+  /**
+   * window 안의 구간들을 오래된 구간일수록 decay를 거듭 곱한 가중치로 합쳐 snapshot을 갱신합니다.
+   */
+  @Scheduled(fixedDelayString = "${medicine.trend.refresh-interval:PT30S}")
+  public void refresh() {
+    long current = currentBucket();
+    List<String> previousKeys = new ArrayList<>();
+    double[] weights = new double[bucketCount];
+    weights[0] = 1;
+    for (int age = 1; age < bucketCount; age++) {
+      previousKeys.add(bucketKey(current - age));
+      weights[age] = Math.pow(decay, age);
+    }
+
+    try {
+      redisTemplate.opsForZSet().unionAndStore(bucketKey(current), previousKeys, SNAPSHOT_KEY,
+          Aggregate.SUM, Weights.of(weights));
+      redisTemplate.expire(SNAPSHOT_KEY, Duration.ofSeconds(bucketSeconds));
+      Set<String> keywords = redisTemplate.opsForZSet()
+          .reverseRange(SNAPSHOT_KEY, 0, TRENDING_KEYWORD_SIZE - 1);
+      snapshot = keywords == null ? List.of() : List.copyOf(keywords);
+    } catch (DataAccessException e) {
+      log.debug("인기 검색어 snapshot을 갱신하지 못했습니다.", e);
+    }
+  }
+
+  private long currentBucket() {
+    return System.currentTimeMillis() / 1000 / bucketSeconds;
+  }
+
+  private String bucketKey(long bucket) {
+    return BUCKET_KEY_PREFIX + bucket;
+  }
+}
@@ -0,0 +1,110 @@
+package pocketyacsa.server.medicine.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import pocketyacsa.server.common.exception.CircuitOpenException;
+import pocketyacsa.server.common.utility.CircuitBreaker;
+import pocketyacsa.server.common.utility.CircuitBreaker.State;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.domain.response.NedrugHtmlRes;
+
+@Service
+public class NedrugService {
+
+  private static final String HTML_URL = "https://nedrug.mfds.go.kr/pbp/cmn/html/drb/";
+
+  private final RestTemplate restTemplate;
+  private final CircuitBreaker circuitBreaker;
+
+  public NedrugService(
+      RestTemplateBuilder restTemplateBuilder,
+      @Value("${nedrug.connect-timeout:2s}") Duration connectTimeout,
+      @Value("${nedrug.read-timeout:3s}") Duration readTimeout,
+      @Value("${nedrug.circuit.failure-threshold:5}") int failureThreshold,
+      @Value("${nedrug.circuit.open-duration:30s}") Duration openDuration,
+      MeterRegistry meterRegistry) {
+    this.restTemplate = restTemplateBuilder
+        .setConnectTimeout(connectTimeout)
+        .setReadTimeout(readTimeout)
+        .build();
+    this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration,
+        (from, to) -> meterRegistry.counter("nedrug.circuit.transitions",
+            "from", from.name(), "to", to.name()).increment());
+    Gauge.builder("nedrug.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+        .description("0: CLOSED, 1: OPEN, 2: HALF_OPEN")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 의약품 html 다운로드 링크에서 받은 html파일을 반환합니다. etag나 lastModified가 있으면 조건부 요청을 보내고,
+   * 변경되지 않았으면 html 없이 notModified로 반환합니다. nedrug 호출이 연속으로 실패하면 일정 시간 동안 호출하지
+   * 않고 바로 CircuitOpenException을 던집니다.
+   *
+   * @param code         medicine의 code
+   * @param section      받아올 의약품 정보의 종류
+   * @param etag         이전에 받은 ETag, 없으면 null
+   * @param lastModified 이전에 받은 Last-Modified, 없으면 null
+   * @return 의약품 정보의 html과 검증값
+   * @throws HttpClientErrorException.NotFound nedrug에 해당 의약품 정보가 없는 경우
+   * @throws CircuitOpenException              nedrug 호출이 차단된 경우
+   * @throws RestClientException               html을 받아오지 못한 경우
+   */
+  public NedrugHtmlRes getHtml(String code, MedicineSection section, String etag,
+      String lastModified) {
+    if (!circuitBreaker.tryAcquire()) {
+      throw new CircuitOpenException("nedrug");
+    }
+
+    String htmlURL = HTML_URL + code + section.getSuffix(); // 다운로드할 HTML 파일의 링크
+    HttpHeaders headers = new HttpHeaders();
+    if (etag != null) {
+      headers.setIfNoneMatch(etag);
+    }
+    if (lastModified != null) {
+      headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+    }
+
+    // nedrug가 응답한 4xx는 장애가 아니고, 그 밖의 예외는 모두 장애로 봅니다.
+    ResponseEntity<byte[]> response = circuitBreaker.record(
+        () -> restTemplate.exchange(htmlURL, HttpMethod.GET, new HttpEntity<>(headers),
+            byte[].class),
+        e -> !(e instanceof HttpClientErrorException));
+
+    HttpHeaders responseHeaders = response.getHeaders();
+    NedrugHtmlRes.NedrugHtmlResBuilder html = NedrugHtmlRes.builder()
+        .etag(responseHeaders.getETag() != null ? responseHeaders.getETag() : etag)
+        .lastModified(responseHeaders.containsKey(HttpHeaders.LAST_MODIFIED)
+            ? responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED) : lastModified);
+
+    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+      return html.notModified(true).build();
+    }
+
+    byte[] htmlBytes = response.getBody();
+    return html
+        .html(htmlBytes == null ? "" : new String(htmlBytes, StandardCharsets.UTF_8))
+        .build();
+  }
+
+  /**
+   * nedrug 호출이 차단되어 있는지 확인합니다.
+   *
+   * @return 호출 차단 여부
+   */
+  public boolean isCircuitOpen() {
+    return circuitBreaker.getState() == State.OPEN;
+  }
+}
@@ -0,0 +1,5 @@
+-- 성분이 삭제되면 성분을 가졌던 medicine의 event를 추가합니다.
+CREATE TRIGGER medicine_ingredient_outbox_after_delete AFTER DELETE ON medicine_ingredient
+  FOR EACH ROW
+  INSERT INTO medicine_outbox (medicine_id, attempts, retry_at, created_at, updated_at)
+  VALUES (OLD.medicine_id, 0, NOW(6), NOW(6), NOW(6))
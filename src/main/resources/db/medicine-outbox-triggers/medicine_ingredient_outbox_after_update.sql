@@ -0,0 +1,7 @@
+-- 성분이 바뀌면 바뀌기 전과 후의 medicine의 event를 추가합니다.
+CREATE TRIGGER medicine_ingredient_outbox_after_update AFTER UPDATE ON medicine_ingredient
+  FOR EACH ROW
+  INSERT INTO medicine_outbox (medicine_id, attempts, retry_at, created_at, updated_at)
+  SELECT m.medicine_id, 0, NOW(6), NOW(6), NOW(6)
+  FROM (SELECT OLD.medicine_id AS medicine_id UNION SELECT NEW.medicine_id) m
+  WHERE NOT (NEW.medicine_id <=> OLD.medicine_id AND NEW.ingredient_id <=> OLD.ingredient_id)
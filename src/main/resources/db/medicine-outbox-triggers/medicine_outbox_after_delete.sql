@@ -0,0 +1,4 @@
+-- medicine이 삭제되면 같은 transaction에서 medicine_outbox에 event를 추가합니다.
+CREATE TRIGGER medicine_outbox_after_delete AFTER DELETE ON medicine FOR EACH ROW
+  INSERT INTO medicine_outbox (medicine_id, attempts, retry_at, created_at, updated_at)
+  VALUES (OLD.id, 0, NOW(6), NOW(6), NOW(6))
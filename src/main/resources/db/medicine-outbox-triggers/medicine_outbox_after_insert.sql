@@ -0,0 +1,4 @@
+-- medicine이 추가되면 같은 transaction에서 medicine_outbox에 event를 추가합니다.
+CREATE TRIGGER medicine_outbox_after_insert AFTER INSERT ON medicine FOR EACH ROW
+  INSERT INTO medicine_outbox (medicine_id, attempts, retry_at, created_at, updated_at)
+  VALUES (NEW.id, 0, NOW(6), NOW(6), NOW(6))
@@ -0,0 +1,7 @@
+-- 색인하지 않는 컬럼만 바뀐 경우에는 event를 추가하지 않습니다. ingredient가 바뀌면 event를 반영할 때
+-- 성분 테이블을 먼저 맞춘 뒤 색인합니다.
+CREATE TRIGGER medicine_outbox_after_update AFTER UPDATE ON medicine FOR EACH ROW
+  INSERT INTO medicine_outbox (medicine_id, attempts, retry_at, created_at, updated_at)
+  SELECT NEW.id, 0, NOW(6), NOW(6), NOW(6) FROM DUAL
+  WHERE NOT (NEW.name <=> OLD.name AND NEW.company <=> OLD.company AND NEW.image <=> OLD.image
+    AND NEW.ingredient <=> OLD.ingredient)
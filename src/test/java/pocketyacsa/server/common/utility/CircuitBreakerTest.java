@@ -0,0 +1,120 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pocketyacsa.server.common.utility.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+  long now;
+
+  List<String> transitions;
+
+  CircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  public void setUp() {
+    now = 0;
+    transitions = new ArrayList<>();
+    circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), () -> now,
+        (from, to) -> transitions.add(from + "->" + to));
+  }
+
+  @Test
+  public void onFailure_OpenAfterThreshold() {
+    for (int i = 0; i < 3; i++) {
+      assertTrue(circuitBreaker.tryAcquire());
+      circuitBreaker.onFailure();
+    }
+
+    assertEquals(circuitBreaker.getState(), State.OPEN);
+    assertFalse(circuitBreaker.tryAcquire());
+    assertEquals(transitions, List.of("CLOSED->OPEN"));
+  }
+
+  @Test
+  public void onSuccess_ResetFailures() {
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onFailure();
+
+    assertEquals(circuitBreaker.getState(), State.CLOSED);
+  }
+
+  @Test
+  public void tryAcquire_AllowSingleProbeAfterOpenDuration() {
+    open();
+    now += Duration.ofSeconds(30).toNanos();
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertEquals(circuitBreaker.getState(), State.HALF_OPEN);
+    assertFalse(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void onSuccess_CloseAfterProbe() {
+    open();
+    now += Duration.ofSeconds(30).toNanos();
+    circuitBreaker.tryAcquire();
+
+    circuitBreaker.onSuccess();
+
+    assertEquals(circuitBreaker.getState(), State.CLOSED);
+    assertEquals(transitions, List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"));
+  }
+
+  @Test
+  public void onFailure_ReopenAfterProbe() {
+    open();
+    now += Duration.ofSeconds(30).toNanos();
+    circuitBreaker.tryAcquire();
+
+    circuitBreaker.onFailure();
+
+    assertEquals(circuitBreaker.getState(), State.OPEN);
+    assertFalse(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void record_ReleaseProbeOnUnexpectedException() {
+    open();
+    now += Duration.ofSeconds(30).toNanos();
+    assertTrue(circuitBreaker.tryAcquire());
+
+    assertThrows(IllegalArgumentException.class, () -> circuitBreaker.record(() -> {
+      throw new IllegalArgumentException("invalid uri");
+    }, e -> !(e instanceof IllegalStateException)));
+
+    assertEquals(circuitBreaker.getState(), State.OPEN);
+    now += Duration.ofSeconds(30).toNanos();
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void record_IgnoredExceptionCloseAfterProbe() {
+    open();
+    now += Duration.ofSeconds(30).toNanos();
+    assertTrue(circuitBreaker.tryAcquire());
+
+    assertThrows(IllegalStateException.class, () -> circuitBreaker.record(() -> {
+      throw new IllegalStateException("not found");
+    }, e -> !(e instanceof IllegalStateException)));
+
+    assertEquals(circuitBreaker.getState(), State.CLOSED);
+  }
+
+  private void open() {
+    for (int i = 0; i < 3; i++) {
+      circuitBreaker.onFailure();
+    }
+  }
+}
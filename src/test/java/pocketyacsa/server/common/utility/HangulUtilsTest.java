@@ -0,0 +1,39 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HangulUtilsTest {
+
+  @Test
+  public void choseong_KeepsLettersAndDigits() {
+    assertEquals(HangulUtils.choseong("타미플루캡슐"), "ㅌㅁㅍㄹㅋㅅ");
+    assertEquals(HangulUtils.choseong("타이레놀(정)  500MG"), "ㅌㅇㄹㄴㅈ 500mg");
+  }
+
+  @Test
+  public void jamo_SplitsCompoundJamoInTypingOrder() {
+    assertEquals(HangulUtils.jamo("타미플루"), "ㅌㅏㅁㅣㅍㅡㄹㄹㅜ");
+    assertEquals(HangulUtils.jamo("괜찮의"), "ㄱㅗㅐㄴㅊㅏㄴㅎㅇㅡㅣ");
+    assertEquals(HangulUtils.jamo("닭"), "ㄷㅏㄹㄱ");
+  }
+
+  @Test
+  public void jamo_HalfComposedInputIsPrefixOfName() {
+    // 타이레놀을 입력하는 중에 놀의 ㄴ이 레의 받침으로 붙은 상태
+    assertTrue(HangulUtils.jamo("타이레놀정").startsWith(HangulUtils.jamo("타이렌")));
+    assertTrue(HangulUtils.jamo("타이레놀정").startsWith(HangulUtils.jamo("타이레ㄴ")));
+  }
+
+  @Test
+  public void isChoseongOnly() {
+    assertTrue(HangulUtils.isChoseongOnly("ㅌㅁㅍㄹ"));
+    assertTrue(HangulUtils.isChoseongOnly("ㅌㅇ ㄹㄴ"));
+    assertFalse(HangulUtils.isChoseongOnly("타ㅁ"));
+    assertFalse(HangulUtils.isChoseongOnly("ㅏ"));
+    assertFalse(HangulUtils.isChoseongOnly(" "));
+  }
+}
@@ -0,0 +1,57 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class HtmlCompressorTest {
+
+  @Test
+  public void sanitize_RemoveScriptStyleAndEventAttributes() {
+    String result = HtmlCompressor.sanitize("<div onclick=\"steal()\"><script>alert(1)</script>"
+        + "<style>p { color: red; }</style><p class=\"title\" onmouseover=\"x()\">효능</p></div>");
+
+    assertEquals(result, "<div><p class=\"title\">효능</p></div>");
+  }
+
+  @Test
+  public void sanitize_KeepSpaceBetweenInlineElements() {
+    String result = HtmlCompressor.sanitize(
+        "<p>\n  <b>타이레놀정</b> <span>500밀리그램</span>\n\n   1일 3회\n</p>\n<pre>a  b</pre>");
+
+    assertEquals(result, "<p> <b>타이레놀정</b> <span>500밀리그램</span> 1일 3회 </p> <pre>a  b</pre>");
+  }
+
+  @Test
+  public void gzip_DecompressToSameHtml() throws IOException {
+    String html = "<p>타이레놀정500밀리그램</p>";
+
+    byte[] result = HtmlCompressor.gzip(html);
+
+    try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(result))) {
+      assertEquals(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8), html);
+    }
+  }
+
+  @Test
+  public void acceptsGzip_ListedCoding() {
+    assertTrue(HtmlCompressor.acceptsGzip("gzip, deflate, br"));
+    assertTrue(HtmlCompressor.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    assertTrue(HtmlCompressor.acceptsGzip("*"));
+  }
+
+  @Test
+  public void acceptsGzip_RefusedOrMissingCoding() {
+    assertFalse(HtmlCompressor.acceptsGzip(null));
+    assertFalse(HtmlCompressor.acceptsGzip("gzip;q=0"));
+    assertFalse(HtmlCompressor.acceptsGzip("gzip; q=0.000, *"));
+    assertFalse(HtmlCompressor.acceptsGzip("x-gzip, deflate"));
+    assertFalse(HtmlCompressor.acceptsGzip("identity, *;q=0"));
+  }
+}
@@ -0,0 +1,75 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NamePrefixIndexTest {
+
+  NamePrefixIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    index = NamePrefixIndex.build(
+        List.of("타이레놀정500mg", "타미플루캡슐75mg", "타이레놀8시간이알서방정", "게보린정", "Tylenol"),
+        new int[]{10, 30, 20, 50, 5});
+  }
+
+  @Test
+  public void search_ReturnByScore() {
+    List<String> result = index.search("타", 10);
+
+    assertEquals(result, List.of("타미플루캡슐75mg", "타이레놀8시간이알서방정", "타이레놀정500mg"));
+  }
+
+  @Test
+  public void search_Limit() {
+    List<String> result = index.search("타이레놀", 1);
+
+    assertEquals(result, List.of("타이레놀8시간이알서방정"));
+  }
+
+  @Test
+  public void search_IgnoreCase() {
+    List<String> result = index.search("tYL", 10);
+
+    assertEquals(result, List.of("Tylenol"));
+  }
+
+  @Test
+  public void search_NoMatch() {
+    List<String> result = index.search("판콜", 10);
+
+    assertEquals(result, List.of());
+  }
+
+  @Test
+  public void search_MatchWordInMiddleOfName() {
+    NamePrefixIndex words = NamePrefixIndex.build(
+        List.of("어린이 타이레놀현탁액", "타이레놀정500mg", "게보린정(아세트아미노펜)"),
+        new int[]{40, 10, 5});
+
+    assertEquals(words.search("타이레놀", 10), List.of("어린이 타이레놀현탁액", "타이레놀정500mg"));
+    assertEquals(words.search("아세트", 10), List.of("게보린정(아세트아미노펜)"));
+    assertEquals(words.search("레놀", 10), List.of());
+  }
+
+  @Test
+  public void search_ReturnNameOnceWhenWordsRepeat() {
+    NamePrefixIndex repeated = NamePrefixIndex.build(List.of("판콜 판콜에이", "판피린"),
+        new int[]{10, 5});
+
+    assertEquals(repeated.search("판", 10), List.of("판콜 판콜에이", "판피린"));
+  }
+
+  @Test
+  public void build_KeepHighestScoreOfDuplicates() {
+    NamePrefixIndex duplicated = NamePrefixIndex.build(List.of("게보린", "게보린", "게보린정"),
+        new int[]{1, 100, 50});
+
+    assertEquals(duplicated.size(), 2);
+    assertEquals(duplicated.search("게", 10), List.of("게보린", "게보린정"));
+  }
+}
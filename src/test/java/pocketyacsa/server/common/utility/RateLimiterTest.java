@@ -0,0 +1,52 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+
+  long now;
+
+  RateLimiter rateLimiter;
+
+  @BeforeEach
+  public void setUp() {
+    now = 0;
+    rateLimiter = new RateLimiter(2, () -> now);
+  }
+
+  @Test
+  public void reserve_SpaceRequestsByInterval() {
+    assertEquals(rateLimiter.reserve(), 0);
+    assertEquals(rateLimiter.reserve(), INTERVAL);
+    assertEquals(rateLimiter.reserve(), INTERVAL * 2);
+  }
+
+  @Test
+  public void reserve_SubtractElapsedTime() {
+    rateLimiter.reserve();
+    now = INTERVAL / 2;
+
+    assertEquals(rateLimiter.reserve(), INTERVAL / 2);
+  }
+
+  @Test
+  public void reserve_NotAccumulateWhileIdle() {
+    rateLimiter.reserve();
+    now = INTERVAL * 10;
+
+    assertEquals(rateLimiter.reserve(), 0);
+    assertEquals(rateLimiter.reserve(), INTERVAL);
+  }
+
+  @Test
+  public void constructor_RejectNonPositiveRate() {
+    assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+  }
+}
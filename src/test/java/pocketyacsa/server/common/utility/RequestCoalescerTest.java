@@ -0,0 +1,73 @@
+package pocketyacsa.server.common.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescerTest {
+
+  RequestCoalescer<List<String>> coalescer;
+
+  @BeforeEach
+  public void setUp() {
+    coalescer = new RequestCoalescer<>();
+  }
+
+  @Test
+  public void execute_ShareResultOfRunningRequest() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    List<String> result = List.of("타이레놀");
+
+    CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(
+        () -> coalescer.execute("타이", () -> {
+          calls.incrementAndGet();
+          started.countDown();
+          await(release);
+          return result;
+        }));
+    await(started);
+    CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(
+        () -> coalescer.execute("타이", () -> {
+          calls.incrementAndGet();
+          return List.of();
+        }));
+    while (coalescer.getDeduplicated() == 0) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    assertSame(result, first.get(5, TimeUnit.SECONDS));
+    assertSame(result, second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, calls.get());
+    assertEquals(1, coalescer.getExecuted());
+  }
+
+  @Test
+  public void execute_RunAgainAfterFailure() {
+    assertThrows(IllegalStateException.class, () -> coalescer.execute("타이", () -> {
+      throw new IllegalStateException("elasticsearch unavailable");
+    }));
+
+    assertEquals(List.of("타이레놀"), coalescer.execute("타이", () -> List.of("타이레놀")));
+    assertEquals(2, coalescer.getExecuted());
+    assertEquals(0, coalescer.getDeduplicated());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package pocketyacsa.server.medicine.domain.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+class SearchCursorTest {
+
+  @Test
+  public void encode_DecodeToSameCursor() {
+    SearchCursor cursor = SearchCursor.builder()
+        .mode(SearchMode.JAMO)
+        .page(3)
+        .total(42)
+        .score(1.25f)
+        .id(1234)
+        .build();
+
+    SearchCursor result = SearchCursor.decode(cursor.encode());
+
+    assertEquals(result, cursor);
+    assertEquals(result.getSearchAfter(), List.of(1.25f, 1234));
+  }
+
+  @Test
+  public void decode_RejectMalformedCursor() {
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("%%%"));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("NAME:1:10")));
+    assertThrows(IllegalArgumentException.class,
+        () -> SearchCursor.decode(encode("UNKNOWN:1:10:1.0:1")));
+    assertThrows(IllegalArgumentException.class,
+        () -> SearchCursor.decode(encode("NAME:one:10:1.0:1")));
+  }
+
+  private static String encode(String value) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
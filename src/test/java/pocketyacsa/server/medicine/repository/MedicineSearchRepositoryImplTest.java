@@ -0,0 +1,170 @@
+package pocketyacsa.server.medicine.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.search.aggregations.AbstractAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineSearchRepositoryImplTest {
+
+  @Mock
+  ElasticsearchOperations operations;
+
+  @Mock
+  RestHighLevelClient client;
+
+  MedicineSearchRepositoryImpl repository;
+
+  @BeforeEach
+  public void setUp() {
+    repository = new MedicineSearchRepositoryImpl(operations, client);
+  }
+
+  @Test
+  public void searchByFacets_FilterHitsAfterCountingOtherFacets() {
+    SearchHits<MedicineSearch> searchHits = mock(SearchHits.class);
+    when(operations.search(any(NativeSearchQuery.class), eq(MedicineSearch.class)))
+        .thenReturn(searchHits);
+
+    repository.searchByFacets("타이레놀", List.of("abc pharm"), List.of("acetaminophen"),
+        PageRequest.of(0, 10), 20);
+
+    ArgumentCaptor<NativeSearchQuery> query = ArgumentCaptor.forClass(NativeSearchQuery.class);
+    verify(operations).search(query.capture(), eq(MedicineSearch.class));
+    String postFilter = query.getValue().getFilter().toString();
+    assertTrue(postFilter.contains("abc pharm"));
+    assertTrue(postFilter.contains("acetaminophen"));
+    assertFalse(query.getValue().getQuery().toString().contains("abc pharm"));
+
+    Map<String, AbstractAggregationBuilder<?>> facets = query.getValue().getAggregations()
+        .stream()
+        .collect(Collectors.toMap(AbstractAggregationBuilder::getName, Function.identity()));
+    assertEquals(facets.size(), 2);
+    String companyFilter = ((FilterAggregationBuilder) facets
+        .get(MedicineSearchRepositoryCustom.COMPANY_FACET)).getFilter().toString();
+    assertFalse(companyFilter.contains("abc pharm"));
+    assertTrue(companyFilter.contains("acetaminophen"));
+    String ingredientFilter = ((FilterAggregationBuilder) facets
+        .get(MedicineSearchRepositoryCustom.INGREDIENT_FACET)).getFilter().toString();
+    assertTrue(ingredientFilter.contains("abc pharm"));
+    assertFalse(ingredientFilter.contains("acetaminophen"));
+  }
+
+  @Test
+  public void suggestNames_SortByNameLengthThenId() {
+    SearchHits<MedicineSearch> searchHits = mock(SearchHits.class);
+    when(searchHits.stream()).thenReturn(Stream.empty());
+    when(operations.search(any(NativeSearchQuery.class), eq(MedicineSearch.class)))
+        .thenReturn(searchHits);
+
+    repository.suggestNames("타이레놀", 10);
+
+    ArgumentCaptor<NativeSearchQuery> query = ArgumentCaptor.forClass(NativeSearchQuery.class);
+    verify(operations).search(query.capture(), eq(MedicineSearch.class));
+    List<SortBuilder<?>> sorts = query.getValue().getElasticsearchSorts();
+    assertEquals(sorts.size(), 2);
+    assertEquals(((FieldSortBuilder) sorts.get(0)).getFieldName(), "nameLength");
+    assertEquals(sorts.get(0).order(), SortOrder.ASC);
+    assertEquals(((FieldSortBuilder) sorts.get(1)).getFieldName(), "id");
+    assertEquals(sorts.get(1).order(), SortOrder.ASC);
+  }
+
+  @Test
+  public void searchByFuzzyName_ThrowWhenTimedOut() throws IOException {
+    when(operations.getIndexCoordinatesFor(MedicineSearch.class))
+        .thenReturn(IndexCoordinates.of("medicine"));
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.isTimedOut()).thenReturn(true);
+    when(client.search(any(SearchRequest.class), any(RequestOptions.class))).thenReturn(response);
+
+    assertThrows(QueryTimeoutException.class,
+        () -> repository.searchByFuzzyName("타이레놀", PageRequest.of(0, 10)));
+
+    ArgumentCaptor<SearchRequest> request = ArgumentCaptor.forClass(SearchRequest.class);
+    ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+    verify(client).search(request.capture(), options.capture());
+    assertEquals(request.getValue().source().timeout(), TimeValue.timeValueMillis(150));
+    assertEquals(options.getValue().getRequestConfig().getSocketTimeout(), 500);
+  }
+
+  @Test
+  public void searchByFuzzyName_ThrowWhenResponseIsLate() throws IOException {
+    when(operations.getIndexCoordinatesFor(MedicineSearch.class))
+        .thenReturn(IndexCoordinates.of("medicine"));
+    when(client.search(any(SearchRequest.class), any(RequestOptions.class)))
+        .thenThrow(new SocketTimeoutException("timeout"));
+
+    assertThrows(QueryTimeoutException.class,
+        () -> repository.searchByFuzzyName("타이레놀", PageRequest.of(0, 10)));
+  }
+
+  @Test
+  public void searchAfter_ReturnFuzzyHitsWithSortValues() throws IOException {
+    when(operations.getIndexCoordinatesFor(MedicineSearch.class))
+        .thenReturn(IndexCoordinates.of("medicine"));
+    MedicineSearch medicine = MedicineSearch.builder().id(3).name("타이레놀정").build();
+    ElasticsearchConverter converter = mock(ElasticsearchConverter.class);
+    when(operations.getElasticsearchConverter()).thenReturn(converter);
+    when(converter.read(eq(MedicineSearch.class), any(Document.class))).thenReturn(medicine);
+    org.elasticsearch.search.SearchHit hit = mock(org.elasticsearch.search.SearchHit.class);
+    when(hit.getSourceAsMap()).thenReturn(Map.of("id", 3, "name", "타이레놀정"));
+    when(hit.getSortValues()).thenReturn(new Object[]{1.5f, 3L});
+    org.elasticsearch.search.SearchHits hits = mock(org.elasticsearch.search.SearchHits.class);
+    when(hits.iterator()).thenReturn(List.of(hit).iterator());
+    when(hits.getTotalHits()).thenReturn(null);
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.isTimedOut()).thenReturn(false);
+    when(response.getHits()).thenReturn(hits);
+    when(client.search(any(SearchRequest.class), any(RequestOptions.class))).thenReturn(response);
+
+    SearchHits<MedicineSearch> result =
+        repository.searchAfter(SearchMode.FUZZY, "타이레놀", List.of(2.0f, 1L), 10);
+
+    ArgumentCaptor<SearchRequest> request = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(client).search(request.capture(), any(RequestOptions.class));
+    assertArrayEquals(request.getValue().source().searchAfter(), new Object[]{2.0f, 1L});
+    assertEquals(result.getSearchHit(0).getContent(), medicine);
+    assertEquals(result.getSearchHit(0).getSortValues(), List.of(1.5f, 3L));
+  }
+}
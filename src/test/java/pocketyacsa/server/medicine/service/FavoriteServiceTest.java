@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -141,6 +142,16 @@ class FavoriteServiceTest {
     assertEquals(result, false);
   }
 
+  @Test
+  public void getFavoriteMedicineIds_Success() {
+    when(favoriteRepository.findMedicineIdsByMemberIdAndMedicineIdIn(1, List.of(1, 2, 3)))
+        .thenReturn(List.of(1, 3));
+
+    Set<Integer> result = favoriteService.getFavoriteMedicineIds(1, List.of(1, 2, 3));
+
+    assertEquals(result, Set.of(1, 3));
+  }
+
   @Test
   public void delete_Success() {
     when(favoriteRepository.findById(1)).thenReturn(Optional.ofNullable(favorite));
@@ -0,0 +1,188 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pocketyacsa.server.medicine.domain.entity.MedicineDocument;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineHtmlRedis;
+import pocketyacsa.server.medicine.repository.MedicineDocumentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineDocumentServiceTest {
+
+  @Mock
+  MedicineDocumentRepository documentRepository;
+
+  @Mock
+  MedicineHtmlCacheService htmlCacheService;
+
+  MedicineDocumentService documentService;
+
+  List<Runnable> refreshTasks;
+
+  String code = "1234512345";
+
+  @BeforeEach
+  public void setUp() {
+    refreshTasks = new ArrayList<>();
+    documentService = new MedicineDocumentService(documentRepository, htmlCacheService,
+        refreshTasks::add, Runnable::run, Runnable::run, Duration.ofDays(7), 100,
+        new SimpleMeterRegistry());
+  }
+
+  @Test
+  public void getDocument_ReturnStored() {
+    MedicineDocument document = MedicineDocument.builder()
+        .code(code)
+        .section(MedicineSection.EFFECT)
+        .content("<p>effect</p>")
+        .gzipContent(new byte[0])
+        .fetchedAt(LocalDateTime.now())
+        .build();
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.EFFECT))
+        .thenReturn(Optional.of(document));
+
+    String result = documentService.getDocument(code, MedicineSection.EFFECT);
+
+    assertEquals(result, "<p>effect</p>");
+    verify(htmlCacheService, never()).getHtml(code, MedicineSection.EFFECT);
+  }
+
+  @Test
+  public void getDocument_NotEncodeOnRequest() {
+    MedicineDocument document = MedicineDocument.builder()
+        .code(code)
+        .section(MedicineSection.EFFECT)
+        .content("<p>effect</p>")
+        .fetchedAt(LocalDateTime.now())
+        .build();
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.EFFECT))
+        .thenReturn(Optional.of(document));
+
+    MedicineDocument result = documentService.getStoredDocument(code, MedicineSection.EFFECT);
+
+    assertNull(result.getGzipContent());
+    verify(documentRepository, never()).save(any(MedicineDocument.class));
+  }
+
+  @Test
+  public void getDocument_FetchAndSaveWhenNotStored() {
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.USAGES))
+        .thenReturn(Optional.empty());
+    when(htmlCacheService.getHtml(code, MedicineSection.USAGES)).thenReturn(html("<p>usages</p>"));
+
+    String result = documentService.getDocument(code, MedicineSection.USAGES);
+
+    assertEquals(result, "<p>usages</p>");
+    verify(documentRepository).save(any(MedicineDocument.class));
+  }
+
+  @Test
+  public void getDocument_FetchFail() {
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.USAGES))
+        .thenReturn(Optional.empty());
+    when(htmlCacheService.getHtml(code, MedicineSection.USAGES))
+        .thenThrow(new IllegalStateException());
+
+    assertThrows(IllegalStateException.class,
+        () -> documentService.getDocument(code, MedicineSection.USAGES));
+    verify(documentRepository, never()).save(any(MedicineDocument.class));
+  }
+
+  @Test
+  public void getDocument_ReturnStoredAndRefreshWhenStale() {
+    MedicineDocument document = MedicineDocument.builder()
+        .code(code)
+        .section(MedicineSection.PRECAUTIONS)
+        .content("<p>old</p>")
+        .gzipContent(new byte[0])
+        .fetchedAt(LocalDateTime.now().minusDays(8))
+        .build();
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.PRECAUTIONS))
+        .thenReturn(Optional.of(document));
+    when(htmlCacheService.getHtml(eq(code), eq(MedicineSection.PRECAUTIONS), any()))
+        .thenReturn(html("<p>new</p>"));
+
+    String result = documentService.getDocument(code, MedicineSection.PRECAUTIONS);
+    refreshTasks.forEach(Runnable::run);
+
+    assertEquals(result, "<p>old</p>");
+    assertEquals(document.getContent(), "<p>new</p>");
+    verify(documentRepository).save(document);
+  }
+
+  private MedicineHtmlRedis html(String content) {
+    return MedicineHtmlRedis.builder()
+        .html(content)
+        .contentHash(Integer.toHexString(content.hashCode()))
+        .fetchedAt(LocalDateTime.now().toString())
+        .build();
+  }
+
+  @Test
+  public void refresh_KeepContentWhenNotModified() {
+    MedicineDocument document = MedicineDocument.builder()
+        .code(code)
+        .section(MedicineSection.EFFECT)
+        .content("<p>effect</p>")
+        .gzipContent(new byte[0])
+        .etag("\"v1\"")
+        .fetchedAt(LocalDateTime.now().minusDays(8))
+        .build();
+    MedicineHtmlRedis notModified = MedicineHtmlRedis.builder()
+        .etag("\"v1\"")
+        .fetchedAt(LocalDateTime.now().toString())
+        .notModified(true)
+        .build();
+    when(documentRepository.findByCodeAndSection(code, MedicineSection.EFFECT))
+        .thenReturn(Optional.of(document));
+    when(htmlCacheService.getHtml(eq(code), eq(MedicineSection.EFFECT), any()))
+        .thenReturn(notModified);
+
+    documentService.refresh(code, MedicineSection.EFFECT);
+
+    assertEquals(document.getContent(), "<p>effect</p>");
+    assertEquals(document.getFetchedAt(), LocalDateTime.parse(notModified.getFetchedAt()));
+    verify(documentRepository).save(document);
+  }
+
+  @Test
+  public void encodeMissing_EncodeStoredWithoutGzip() {
+    MedicineDocument document = MedicineDocument.builder()
+        .id(3)
+        .code(code)
+        .section(MedicineSection.EFFECT)
+        .content("<p>effect</p>\n<script>alert(1)</script>")
+        .fetchedAt(LocalDateTime.now())
+        .build();
+    when(documentRepository.findByGzipContentIsNullAndIdGreaterThanOrderByIdAsc(eq(0), any()))
+        .thenReturn(List.of(document));
+    when(documentRepository.findByGzipContentIsNullAndIdGreaterThanOrderByIdAsc(eq(3), any()))
+        .thenReturn(List.of());
+
+    documentService.encodeMissing();
+
+    assertEquals(document.getContent(), "<p>effect</p>");
+    assertNotNull(document.getGzipContent());
+    verify(documentRepository).saveAll(List.of(document));
+  }
+}
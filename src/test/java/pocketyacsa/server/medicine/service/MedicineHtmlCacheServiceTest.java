@@ -0,0 +1,78 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import pocketyacsa.server.common.exception.CacheLoadTimeoutException;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineHtmlRedis;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineHtmlCacheServiceTest {
+
+  @Mock
+  NedrugService nedrugService;
+
+  @Mock
+  RedisTemplate<String, MedicineHtmlRedis> redisTemplate;
+
+  @Mock
+  ValueOperations<String, MedicineHtmlRedis> valueOperations;
+
+  @Mock
+  StringRedisTemplate lockTemplate;
+
+  @Mock
+  ValueOperations<String, String> lockOperations;
+
+  MedicineHtmlCacheService htmlCacheService;
+
+  String code = "1234512345";
+
+  @BeforeEach
+  public void setUp() {
+    htmlCacheService = new MedicineHtmlCacheService(nedrugService, redisTemplate, lockTemplate,
+        Duration.ofDays(1), Duration.ofHours(2), Duration.ofDays(7), Duration.ofSeconds(10),
+        Duration.ofMillis(200), Duration.ofMinutes(10));
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(lockTemplate.opsForValue()).thenReturn(lockOperations);
+    when(lockOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(false);
+  }
+
+  @Test
+  public void getHtml_ReturnStaleWhileLocked() {
+    MedicineHtmlRedis stale = MedicineHtmlRedis.builder()
+        .html("<p>effect</p>")
+        .freshUntil(System.currentTimeMillis() - 1)
+        .build();
+    when(valueOperations.get(anyString())).thenReturn(stale);
+
+    assertSame(stale, htmlCacheService.getHtml(code, MedicineSection.EFFECT));
+    verify(nedrugService, never()).getHtml(eq(code), eq(MedicineSection.EFFECT), any(), any());
+  }
+
+  @Test
+  public void getHtml_FailWhenLockHolderIsSlow() {
+    when(valueOperations.get(anyString())).thenReturn(null);
+
+    assertThrows(CacheLoadTimeoutException.class,
+        () -> htmlCacheService.getHtml(code, MedicineSection.EFFECT));
+    verify(nedrugService, never()).getHtml(eq(code), eq(MedicineSection.EFFECT), any(), any());
+  }
+}
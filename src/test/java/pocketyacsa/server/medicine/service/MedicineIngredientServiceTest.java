@@ -0,0 +1,135 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import pocketyacsa.server.medicine.domain.entity.Ingredient;
+import pocketyacsa.server.medicine.domain.entity.Medicine;
+import pocketyacsa.server.medicine.repository.IngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineIngredientName;
+import pocketyacsa.server.medicine.repository.MedicineIngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineIngredientServiceTest {
+
+  @Mock
+  MedicineRepository medicineRepository;
+
+  @Mock
+  IngredientRepository ingredientRepository;
+
+  @Mock
+  MedicineIngredientRepository medicineIngredientRepository;
+
+  @Mock
+  StringRedisTemplate redisTemplate;
+
+  @Mock
+  TaskScheduler taskScheduler;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  MedicineIngredientService ingredientService;
+
+  @BeforeEach
+  public void setUp() {
+    ingredientService = new MedicineIngredientService(medicineRepository, ingredientRepository,
+        medicineIngredientRepository, redisTemplate, taskScheduler, transactionManager, 500,
+        Duration.ofMinutes(30));
+  }
+
+  @Test
+  public void parse_TrimAndSkipBlank() {
+    List<String> result = MedicineIngredientService.parse(" apple|| banana |apple");
+
+    assertEquals(result, List.of("apple", "banana"));
+  }
+
+  @Test
+  public void backfill_SkipUnchanged() {
+    Medicine medicine = Medicine.builder().id(1).ingredient("Apple|banana").build();
+    when(medicineIngredientRepository.findIngredientNamesByMedicineIdIn(List.of(1)))
+        .thenReturn(List.of(name(1, "apple"), name(1, "banana")));
+
+    int result = ingredientService.backfill(List.of(medicine));
+
+    assertEquals(result, 0);
+    verify(ingredientRepository, never()).findByNameIn(anyCollection());
+    verify(medicineIngredientRepository, never()).deleteByMedicineIdIn(anyCollection());
+  }
+
+  @Test
+  public void sync_BackfillGivenMedicines() {
+    Medicine medicine = Medicine.builder().id(1).ingredient("apple").build();
+    when(medicineRepository.findAllById(List.of(1))).thenReturn(List.of(medicine));
+    when(medicineIngredientRepository.findIngredientNamesByMedicineIdIn(List.of(1)))
+        .thenReturn(List.of(name(1, "apple")));
+
+    int result = ingredientService.sync(List.of(1));
+
+    assertEquals(result, 0);
+    verify(medicineIngredientRepository, never()).deleteByMedicineIdIn(anyCollection());
+  }
+
+  @Test
+  public void backfill_ReplaceChangedIngredients() {
+    Medicine medicine = Medicine.builder().id(1).ingredient("apple|cherry").build();
+    Ingredient apple = Ingredient.builder().id(1).name("apple").build();
+    Ingredient cherry = Ingredient.builder().id(3).name("cherry").build();
+    when(medicineIngredientRepository.findIngredientNamesByMedicineIdIn(List.of(1)))
+        .thenReturn(List.of(name(1, "apple"), name(1, "banana")));
+    when(ingredientRepository.findByNameIn(anyCollection())).thenReturn(List.of(apple, cherry));
+
+    int result = ingredientService.backfill(List.of(medicine));
+
+    assertEquals(result, 1);
+    verify(medicineIngredientRepository).deleteByMedicineIdIn(List.of(1));
+    verify(medicineIngredientRepository).saveAll(any());
+  }
+
+  @Test
+  public void backfill_CreateMissingIngredients() {
+    Medicine medicine = Medicine.builder().id(1).ingredient("apple|banana").build();
+    Ingredient apple = Ingredient.builder().id(1).name("apple").build();
+    Ingredient banana = Ingredient.builder().id(2).name("banana").build();
+    when(medicineIngredientRepository.findIngredientNamesByMedicineIdIn(List.of(1)))
+        .thenReturn(List.of());
+    when(ingredientRepository.findByNameIn(anyCollection())).thenReturn(List.of(apple));
+    when(ingredientRepository.saveAll(any())).thenReturn(List.of(banana));
+
+    int result = ingredientService.backfill(List.of(medicine));
+
+    assertEquals(result, 1);
+    verify(medicineIngredientRepository).saveAll(any());
+  }
+
+  private static MedicineIngredientName name(int medicineId, String name) {
+    return new MedicineIngredientName() {
+      @Override
+      public int getMedicineId() {
+        return medicineId;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+    };
+  }
+}
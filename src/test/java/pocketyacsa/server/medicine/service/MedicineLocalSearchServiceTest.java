@@ -0,0 +1,145 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import pocketyacsa.server.common.utility.HangulUtils;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineLocalSearchServiceTest {
+
+  @Mock
+  MedicineRepository medicineRepository;
+
+  @Mock
+  TaskScheduler taskScheduler;
+
+  MedicineLocalSearchService localSearchService;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    localSearchService = new MedicineLocalSearchService(medicineRepository, taskScheduler, "",
+        Duration.ofSeconds(1), 2, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    when(medicineRepository.findIndexRowsByIdGreaterThan(anyInt(), any()))
+        .thenReturn(List.of(row(1, "타미플루캡슐75밀리그램(인산오셀타미비르)"),
+            row(2, "타미플루캡슐30밀리그램(인산오셀타미비르)"),
+            row(3, "타이레놀정500밀리그램(아세트아미노펜)")))
+        .thenReturn(List.of());
+    localSearchService.rebuild();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    localSearchService.close();
+  }
+
+  @Test
+  public void search_MatchesPrefixOfNameAndChoseong() {
+    assertEquals(ids(SearchMode.NAME, "타미플루"), List.of(1, 2));
+    assertEquals(ids(SearchMode.CHOSEONG, HangulUtils.choseong("ㅌㅇㄹ")), List.of(3));
+    assertEquals(ids(SearchMode.JAMO, HangulUtils.jamo("타일")), List.of(3));
+    assertEquals(ids(SearchMode.FUZZY, "타미풀루캡슐75밀리그램"), List.of(1));
+  }
+
+  @Test
+  public void rebuild_KeepPreviousIndexAfterFailure() {
+    when(medicineRepository.findIndexRowsByIdGreaterThan(anyInt(), any()))
+        .thenReturn(List.of(row(4, "타미플루현탁용분말6mg/mL(인산오셀타미비르)")))
+        .thenThrow(new IllegalStateException("mysql unavailable"));
+
+    localSearchService.rebuild();
+
+    assertTrue(localSearchService.isReady());
+    assertEquals(ids(SearchMode.NAME, "타미플루"), List.of(1, 2));
+
+    when(medicineRepository.findIndexRowsByIdGreaterThan(anyInt(), any()))
+        .thenReturn(List.of(row(4, "타미플루현탁용분말6mg/mL(인산오셀타미비르)")))
+        .thenReturn(List.of());
+
+    localSearchService.rebuild();
+
+    assertEquals(ids(SearchMode.NAME, "타미플루"), List.of(4));
+  }
+
+  @Test
+  public void withFallback_SkipElasticsearchAfterRepeatedFailures() {
+    AtomicInteger calls = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      String result = localSearchService.withFallback(() -> {
+        calls.incrementAndGet();
+        throw new IllegalStateException("elasticsearch unavailable");
+      }, () -> "local");
+      assertEquals(result, "local");
+    }
+
+    assertEquals(calls.get(), 2);
+  }
+
+  @Test
+  public void withFallback_NotCountQueryTimeoutAsFailure() {
+    AtomicInteger calls = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      String result = localSearchService.withFallback(() -> {
+        calls.incrementAndGet();
+        throw new QueryTimeoutException("timed out");
+      }, () -> "local");
+      assertEquals(result, "local");
+    }
+
+    assertEquals(calls.get(), 3);
+  }
+
+  private List<Integer> ids(SearchMode mode, String keyword) {
+    return localSearchService.search(mode, keyword, PageRequest.of(0, 10)).stream()
+        .map(MedicineSearch::getId)
+        .collect(Collectors.toList());
+  }
+
+  private static MedicineIndexRow row(int id, String name) {
+    return new MedicineIndexRow() {
+      @Override
+      public int getId() {
+        return id;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getCompany() {
+        return "(주)한국로슈";
+      }
+
+      @Override
+      public String getImage() {
+        return null;
+      }
+    };
+  }
+}
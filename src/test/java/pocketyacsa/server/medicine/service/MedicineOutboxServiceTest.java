@@ -0,0 +1,197 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import pocketyacsa.server.medicine.domain.entity.MedicineOutbox;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineOutboxRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineOutboxServiceTest {
+
+  @Mock
+  MedicineOutboxRepository outboxRepository;
+
+  @Mock
+  MedicineRepository medicineRepository;
+
+  @Mock
+  RestHighLevelClient client;
+
+  @Mock
+  MedicineReindexService reindexService;
+
+  @Mock
+  MedicineIngredientService ingredientService;
+
+  @Mock
+  StringRedisTemplate redisTemplate;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  @Mock
+  JdbcTemplate jdbcTemplate;
+
+  @Mock
+  DataSource dataSource;
+
+  MedicineOutboxService outboxService;
+
+  @BeforeEach
+  public void setUp() {
+    outboxService = new MedicineOutboxService(outboxRepository, medicineRepository, client,
+        reindexService, ingredientService, redisTemplate, transactionManager, jdbcTemplate,
+        dataSource, 500, Duration.ofMinutes(5), false, new SimpleMeterRegistry());
+  }
+
+  @Test
+  public void relay_MergeVersionsPerMedicine() throws IOException {
+    List<MedicineOutbox> events = List.of(event(1, 1, 0), event(2, 2, 0), event(3, 1, 0));
+    stubRows(1);
+    BulkResponse response = bulkResponse(success(), success());
+    when(client.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(response);
+
+    int result = outboxService.relay(events);
+
+    ArgumentCaptor<BulkRequest> bulk = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(client).bulk(bulk.capture(), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> requests = bulk.getValue().requests();
+    assertEquals(requests.size(), 2);
+    assertTrue(requests.get(0) instanceof IndexRequest);
+    assertEquals(requests.get(0).id(), "1");
+    assertEquals(requests.get(0).version(), 3L);
+    assertTrue(requests.get(1) instanceof DeleteRequest);
+    assertEquals(requests.get(1).id(), "2");
+    assertEquals(requests.get(1).version(), 2L);
+    assertEquals(result, 3);
+    verify(ingredientService).sync(Set.of(1));
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+  }
+
+  @Test
+  public void relay_TreatConflictAsApplied() throws IOException {
+    List<MedicineOutbox> events = List.of(event(1, 1, 0));
+    stubRows(1);
+    BulkResponse response = bulkResponse(failure(RestStatus.CONFLICT));
+    when(client.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(response);
+
+    int result = outboxService.relay(events);
+
+    assertEquals(result, 1);
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    verify(outboxRepository).saveAll(List.of());
+  }
+
+  @Test
+  public void relay_RetryOnlyFailedMedicineWithBackoff() throws IOException {
+    MedicineOutbox failed = event(1, 1, 2);
+    List<MedicineOutbox> events = List.of(failed, event(2, 2, 0));
+    stubRows(1, 2);
+    BulkResponse response = bulkResponse(failure(RestStatus.TOO_MANY_REQUESTS), success());
+    when(client.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(response);
+    LocalDateTime before = LocalDateTime.now();
+
+    int result = outboxService.relay(events);
+
+    assertEquals(result, 1);
+    assertEquals(failed.getAttempts(), 3);
+    assertFalse(failed.getRetryAt().isBefore(before.plusSeconds(4)));
+    assertTrue(failed.getRetryAt().isBefore(before.plusSeconds(5)));
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+    verify(outboxRepository).saveAll(List.of(failed));
+  }
+
+  @Test
+  public void relay_RetryAllWithMaxBackoffWhenBulkFails() throws IOException {
+    MedicineOutbox event = event(1, 1, 30);
+    stubRows(1);
+    when(client.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenThrow(new IOException("connection refused"));
+    LocalDateTime before = LocalDateTime.now();
+
+    int result = outboxService.relay(List.of(event));
+
+    assertEquals(result, 0);
+    assertFalse(event.getRetryAt().isBefore(before.plusMinutes(5)));
+    assertTrue(event.getRetryAt().isBefore(before.plusMinutes(5).plusSeconds(1)));
+    verify(outboxRepository).deleteAllByIdInBatch(List.of());
+    verify(outboxRepository).saveAll(List.of(event));
+  }
+
+  private void stubRows(Integer... ids) {
+    List<MedicineIndexRow> rows = new ArrayList<>();
+    for (int id : ids) {
+      MedicineIndexRow row = mock(MedicineIndexRow.class);
+      when(row.getId()).thenReturn(id);
+      rows.add(row);
+    }
+    when(medicineRepository.findIndexRowsByIdIn(anyCollection())).thenReturn(rows);
+    when(reindexService.findIngredients(anyCollection())).thenReturn(Map.of());
+    when(reindexService.toSource(any(), any())).thenReturn("{}");
+  }
+
+  private static MedicineOutbox event(long id, int medicineId, int attempts) {
+    return MedicineOutbox.builder()
+        .id(id)
+        .medicineId(medicineId)
+        .attempts(attempts)
+        .retryAt(LocalDateTime.now())
+        .build();
+  }
+
+  private static BulkResponse bulkResponse(BulkItemResponse... items) {
+    BulkResponse response = mock(BulkResponse.class);
+    when(response.getItems()).thenReturn(items);
+    return response;
+  }
+
+  private static BulkItemResponse success() {
+    BulkItemResponse item = mock(BulkItemResponse.class);
+    when(item.isFailed()).thenReturn(false);
+    return item;
+  }
+
+  private static BulkItemResponse failure(RestStatus status) {
+    BulkItemResponse item = mock(BulkItemResponse.class);
+    when(item.isFailed()).thenReturn(true);
+    when(item.status()).thenReturn(status);
+    return item;
+  }
+}
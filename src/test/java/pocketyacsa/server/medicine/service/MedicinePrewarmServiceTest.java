@@ -0,0 +1,125 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
+import pocketyacsa.server.medicine.repository.DetectionLogRepository;
+import pocketyacsa.server.medicine.repository.FavoriteRepository;
+import pocketyacsa.server.medicine.repository.MedicineCount;
+
+@ExtendWith(MockitoExtension.class)
+class MedicinePrewarmServiceTest {
+
+  @Mock
+  DetectionLogRepository detectionLogRepository;
+
+  @Mock
+  FavoriteRepository favoriteRepository;
+
+  @Mock
+  MedicineDocumentService documentService;
+
+  @Mock
+  StringRedisTemplate redisTemplate;
+
+  @Mock
+  ValueOperations<String, String> valueOperations;
+
+  @Mock
+  ListOperations<String, String> listOperations;
+
+  MedicinePrewarmService prewarmService;
+
+  Duration margin = Duration.ofDays(1);
+
+  @BeforeEach
+  public void setUp() {
+    prewarmService = new MedicinePrewarmService(detectionLogRepository, favoriteRepository,
+        documentService, redisTemplate, 1000, 3, Duration.ofDays(7), margin, Duration.ofHours(1),
+        "0 0 4 * * *", new SimpleMeterRegistry());
+  }
+
+  @Test
+  public void getPopularCodes_MergeDetectionAndFavoriteCounts() {
+    when(detectionLogRepository.countByMedicineSince(any(), any()))
+        .thenReturn(List.of(count("A", 5), count("B", 3), count("C", 1)));
+    when(favoriteRepository.countByMedicineSince(any(), any()))
+        .thenReturn(List.of(count("C", 10), count("D", 2), count("B", 1)));
+
+    List<String> result = prewarmService.getPopularCodes();
+
+    assertEquals(result, List.of("C", "A", "B"));
+  }
+
+  @Test
+  public void prewarm_ResumeFromStoredCursor() {
+    stubLock();
+    when(redisTemplate.opsForList()).thenReturn(listOperations);
+    when(listOperations.range("MedicinePrewarm Codes", 0, -1)).thenReturn(List.of("A", "B", "C"));
+    when(valueOperations.get("MedicinePrewarm Cursor")).thenReturn("2");
+
+    prewarmService.prewarm();
+
+    for (MedicineSection section : MedicineSection.values()) {
+      verify(documentService).refresh("C", section);
+    }
+    verify(documentService, never()).refresh(eq("A"), any());
+    verify(documentService, never()).refresh(eq("B"), any());
+    verify(valueOperations).set(eq("MedicinePrewarm Cursor"), eq("3"), any(Duration.class));
+    verifyNoInteractions(detectionLogRepository, favoriteRepository);
+  }
+
+  @Test
+  public void prewarm_SkipFreshDocuments() {
+    stubLock();
+    when(redisTemplate.opsForList()).thenReturn(listOperations);
+    when(listOperations.range("MedicinePrewarm Codes", 0, -1)).thenReturn(List.of("A"));
+    when(documentService.isFresh(anyString(), any(), any())).thenAnswer(invocation ->
+        invocation.getArgument(1) == MedicineSection.EFFECT);
+
+    prewarmService.prewarm();
+
+    verify(documentService, never()).refresh("A", MedicineSection.EFFECT);
+    verify(documentService).refresh("A", MedicineSection.USAGES);
+    verify(documentService).refresh("A", MedicineSection.PRECAUTIONS);
+    verify(documentService).isFresh("A", MedicineSection.EFFECT, margin);
+  }
+
+  private void stubLock() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(eq("MedicinePrewarm Lock"), anyString(),
+        eq(Duration.ofHours(1)))).thenReturn(true);
+  }
+
+  private static MedicineCount count(String code, long count) {
+    return new MedicineCount() {
+      @Override
+      public String getCode() {
+        return code;
+      }
+
+      @Override
+      public long getCount() {
+        return count;
+      }
+    };
+  }
+}
@@ -0,0 +1,235 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.IndicesClient;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.core.CountResponse;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.TaskScheduler;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
+import pocketyacsa.server.medicine.repository.MedicineIndexRow;
+import pocketyacsa.server.medicine.repository.MedicineIngredientRepository;
+import pocketyacsa.server.medicine.repository.MedicineRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineReindexServiceTest {
+
+  private static final String LOCK_KEY = "MedicineIndex Reindex Lock";
+
+  @Mock
+  RestHighLevelClient client;
+
+  @Mock
+  IndicesClient indicesClient;
+
+  @Mock
+  ElasticsearchOperations operations;
+
+  @Mock
+  MedicineRepository medicineRepository;
+
+  @Mock
+  MedicineIngredientRepository medicineIngredientRepository;
+
+  @Mock
+  StringRedisTemplate redisTemplate;
+
+  @Mock
+  ValueOperations<String, String> valueOperations;
+
+  @Mock
+  TaskScheduler taskScheduler;
+
+  @Mock
+  MedicineSearchCacheService searchCacheService;
+
+  MedicineReindexService reindexService;
+
+  @BeforeEach
+  public void setUp() {
+    reindexService = new MedicineReindexService(client, operations, medicineRepository,
+        medicineIngredientRepository, redisTemplate, taskScheduler, searchCacheService, 1000, 2,
+        Duration.ofSeconds(10), new SimpleMeterRegistry());
+  }
+
+  @Test
+  public void reindex_AddAliasAndRemoveBareIndex() throws IOException {
+    stubCreateIndex();
+    stubCount(0);
+    GetAliasesResponse aliases = mock(GetAliasesResponse.class);
+    when(aliases.getAliases()).thenReturn(Map.of());
+    when(indicesClient.getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(aliases);
+    when(indicesClient.exists(any(GetIndexRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(true);
+
+    reindexService.reindex();
+
+    List<AliasActions> actions = captureAliasActions();
+    assertEquals(actions.size(), 2);
+    assertEquals(actions.get(0).actionType(), AliasActions.Type.ADD);
+    assertTrue(actions.get(0).indices()[0].startsWith("medicine_"));
+    assertArrayEquals(actions.get(0).aliases(), new String[]{"medicine"});
+    assertEquals(actions.get(1).actionType(), AliasActions.Type.REMOVE_INDEX);
+    assertArrayEquals(actions.get(1).indices(), new String[]{"medicine"});
+    verify(indicesClient, never()).delete(any(DeleteIndexRequest.class), any());
+    verify(searchCacheService).bumpGeneration();
+  }
+
+  @Test
+  public void reindex_MoveAliasAndDeletePreviousIndex() throws IOException {
+    stubCreateIndex();
+    stubCount(0);
+    GetAliasesResponse aliases = mock(GetAliasesResponse.class);
+    when(aliases.getAliases()).thenReturn(Map.of("medicine_20240101050000", Set.of()));
+    when(indicesClient.getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(aliases);
+
+    reindexService.reindex();
+
+    List<AliasActions> actions = captureAliasActions();
+    assertEquals(actions.size(), 2);
+    assertEquals(actions.get(0).actionType(), AliasActions.Type.ADD);
+    assertEquals(actions.get(1).actionType(), AliasActions.Type.REMOVE);
+    assertArrayEquals(actions.get(1).indices(), new String[]{"medicine_20240101050000"});
+    assertArrayEquals(actions.get(1).aliases(), new String[]{"medicine"});
+    verify(indicesClient, never()).exists(any(GetIndexRequest.class), any());
+    assertArrayEquals(captureDeletedIndex().indices(),
+        new String[]{"medicine_20240101050000"});
+    verify(searchCacheService).bumpGeneration();
+  }
+
+  @Test
+  public void reindex_DeleteNewIndexWhenBulkFails() throws IOException {
+    stubCreateIndex();
+    MedicineIndexRow row = mock(MedicineIndexRow.class);
+    when(row.getId()).thenReturn(1);
+    when(row.getName()).thenReturn("타이레놀정");
+    when(medicineRepository.count()).thenReturn(1L);
+    when(medicineRepository.findIndexRowsByIdGreaterThan(anyInt(), any(Pageable.class)))
+        .thenAnswer(invocation -> invocation.<Integer>getArgument(0) == 0
+            ? List.of(row) : List.of());
+    when(operations.getElasticsearchConverter()).thenReturn(converter());
+    doAnswer(invocation -> {
+      invocation.<ActionListener<?>>getArgument(2).onFailure(new IOException("connection reset"));
+      return null;
+    }).when(client).bulkAsync(any(BulkRequest.class), eq(RequestOptions.DEFAULT), any());
+
+    reindexService.reindex();
+
+    assertTrue(captureDeletedIndex().indices()[0].startsWith("medicine_"));
+    verify(indicesClient, never()).updateAliases(any(IndicesAliasesRequest.class), any());
+    verify(searchCacheService, never()).bumpGeneration();
+  }
+
+  @Test
+  public void reindex_DeleteNewIndexWhenCountDiffers() throws IOException {
+    stubCreateIndex();
+    stubCount(3);
+
+    reindexService.reindex();
+
+    assertTrue(captureDeletedIndex().indices()[0].startsWith("medicine_"));
+    verify(indicesClient, never()).updateAliases(any(IndicesAliasesRequest.class), any());
+    verify(searchCacheService, never()).bumpGeneration();
+  }
+
+  @Test
+  public void toSource_FillNameFields() {
+    when(operations.getElasticsearchConverter()).thenReturn(converter());
+    MedicineIndexRow row = mock(MedicineIndexRow.class);
+    when(row.getId()).thenReturn(1);
+    when(row.getName()).thenReturn("타이레놀");
+    when(row.getCompany()).thenReturn("한국얀센");
+    when(row.getImage()).thenReturn("https://image");
+
+    String result = reindexService.toSource(row, List.of("아세트아미노펜"));
+
+    Document source = Document.parse(result);
+    assertEquals(source.get("id"), 1);
+    assertEquals(source.get("name"), "타이레놀");
+    assertEquals(source.get("company"), "한국얀센");
+    assertEquals(source.get("image"), "https://image");
+    assertEquals(source.get("nameChoseong"), "ㅌㅇㄹㄴ");
+    assertEquals(source.get("nameJamo"), "ㅌㅏㅇㅣㄹㅔㄴㅗㄹ");
+    assertEquals(source.get("nameLength"), 4);
+    assertEquals(source.get("ingredients"), List.of("아세트아미노펜"));
+  }
+
+  private void stubCreateIndex() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), eq(Duration.ofSeconds(20))))
+        .thenReturn(true);
+    when(client.indices()).thenReturn(indicesClient);
+    IndexOperations indexOperations = mock(IndexOperations.class);
+    when(indexOperations.createMapping()).thenReturn(Document.create());
+    when(operations.indexOps(MedicineSearch.class)).thenReturn(indexOperations);
+  }
+
+  private void stubCount(long count) throws IOException {
+    CountResponse response = mock(CountResponse.class);
+    when(response.getCount()).thenReturn(count);
+    when(client.count(any(CountRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(response);
+  }
+
+  private List<AliasActions> captureAliasActions() throws IOException {
+    ArgumentCaptor<IndicesAliasesRequest> request =
+        ArgumentCaptor.forClass(IndicesAliasesRequest.class);
+    verify(indicesClient).updateAliases(request.capture(), eq(RequestOptions.DEFAULT));
+    return request.getValue().getAliasActions();
+  }
+
+  private DeleteIndexRequest captureDeletedIndex() throws IOException {
+    ArgumentCaptor<DeleteIndexRequest> request = ArgumentCaptor.forClass(DeleteIndexRequest.class);
+    verify(indicesClient).delete(request.capture(), eq(RequestOptions.DEFAULT));
+    return request.getValue();
+  }
+
+  private static MappingElasticsearchConverter converter() {
+    MappingElasticsearchConverter converter =
+        new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+    converter.afterPropertiesSet();
+    return converter;
+  }
+}
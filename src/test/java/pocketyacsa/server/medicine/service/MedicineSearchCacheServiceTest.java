@@ -0,0 +1,84 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import pocketyacsa.server.medicine.domain.redisValue.MedicineSearchPageRedis;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineSearchCacheServiceTest {
+
+  @Mock
+  RedisTemplate<String, MedicineSearchPageRedis> redisTemplate;
+
+  @Mock
+  ValueOperations<String, MedicineSearchPageRedis> pageOperations;
+
+  @Mock
+  StringRedisTemplate generationTemplate;
+
+  @Mock
+  ValueOperations<String, String> generationOperations;
+
+  MedicineSearchCacheService cacheService;
+
+  MedicineSearchPageRedis cached;
+
+  @BeforeEach
+  public void setUp() {
+    cacheService = new MedicineSearchCacheService(redisTemplate, generationTemplate,
+        Duration.ofMinutes(10));
+    cached = MedicineSearchPageRedis.builder().total(1).medicines(List.of()).build();
+    when(generationTemplate.opsForValue()).thenReturn(generationOperations);
+  }
+
+  @Test
+  public void getPage_KeyedByGenerationAndNormalizedName() {
+    when(generationOperations.get("MedicineSearch Generation")).thenReturn("3");
+    when(redisTemplate.opsForValue()).thenReturn(pageOperations);
+    when(pageOperations.get("MedicineSearch Page 3 2 타이레놀 500mg")).thenReturn(cached);
+    cacheService.refreshGeneration();
+
+    MedicineSearchPageRedis result = cacheService.getPage("  타이레놀   500MG ", 2);
+
+    assertEquals(result, cached);
+  }
+
+  @Test
+  public void bumpGeneration_UsesNewGenerationKey() {
+    when(generationOperations.increment("MedicineSearch Generation")).thenReturn(4L);
+    when(redisTemplate.opsForValue()).thenReturn(pageOperations);
+
+    cacheService.bumpGeneration();
+    cacheService.putPage("게보린", 1, cached);
+
+    verify(pageOperations).set("MedicineSearch Page 4 1 게보린", cached, Duration.ofMinutes(10));
+  }
+
+  @Test
+  public void getPage_RedisUnavailable() {
+    when(generationOperations.get("MedicineSearch Generation"))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    cacheService.refreshGeneration();
+
+    assertNull(cacheService.getPage("게보린", 1));
+    cacheService.putPage("게보린", 1, cached);
+
+    verify(generationOperations).get("MedicineSearch Generation");
+    verifyNoInteractions(redisTemplate);
+  }
+}
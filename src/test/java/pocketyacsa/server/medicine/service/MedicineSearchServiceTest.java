@@ -1,10 +1,27 @@
 package pocketyacsa.server.medicine.service;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static pocketyacsa.server.common.utility.Constant.FACET_SIZE;
 import static pocketyacsa.server.common.utility.Constant.PAGE_SIZE;
+import static pocketyacsa.server.medicine.exception.MedicineErrorResponse.SEARCH_CURSOR_INVALID;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.filter.Filter;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.TopHits;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +29,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.clients.elasticsearch7.ElasticsearchAggregations;
 import org.springframework.data.redis.core.RedisTemplate;
 import pocketyacsa.server.common.exception.BadRequestException;
-import pocketyacsa.server.medicine.domain.response.MedicineSearch;
 import pocketyacsa.server.medicine.domain.redisValue.SearchLogRedis;
+import pocketyacsa.server.medicine.domain.request.SearchCursor;
+import pocketyacsa.server.medicine.domain.response.FacetCountRes;
+import pocketyacsa.server.medicine.domain.response.MedicineFacetSearchPageRes;
+import pocketyacsa.server.medicine.domain.response.MedicineSearch;
 import pocketyacsa.server.medicine.domain.response.MedicineSearchPageRes;
+import pocketyacsa.server.medicine.domain.response.SearchMode;
 import pocketyacsa.server.medicine.repository.MedicineSearchRepository;
+import pocketyacsa.server.medicine.repository.MedicineSearchRepositoryCustom;
 import pocketyacsa.server.member.entity.Member;
 import pocketyacsa.server.member.service.MemberService;
 
@@ -34,6 +61,24 @@ class MedicineSearchServiceTest {
   @Mock
   RedisTemplate<String, SearchLogRedis> redisTemplate;
 
+  @Mock
+  FavoriteService favoriteService;
+
+  @Mock
+  MedicineIndexService indexService;
+
+  @Mock
+  MedicineSearchCacheService searchCacheService;
+
+  @Mock
+  MedicineLocalSearchService localSearchService;
+
+  @Mock
+  MedicineTrendService trendService;
+
+  @Mock
+  MedicineSearchCoalescingService coalescingService;
+
   @InjectMocks
   MedicineSearchService medicineSearchService;
 
@@ -48,6 +93,13 @@ class MedicineSearchServiceTest {
         .picture("picture-url")
         .deleted(false)
         .build();
+    // elasticsearch가 정상인 경우만 확인하므로 항상 elasticsearch로 검색합니다.
+    lenient().when(localSearchService.withFallback(any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    lenient().when(coalescingService.getPage(any(), anyInt(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    lenient().when(coalescingService.getKeywords(any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
   }
 
   @Test
@@ -72,9 +124,9 @@ class MedicineSearchServiceTest {
         .medicineSearchList(searchResultFirstPage)
         .build();
 
-    when(medicineSearchRepository.countByName(name)).thenReturn(count);
-    when(medicineSearchRepository.findByName(name, PageRequest.of(page - 1, PAGE_SIZE)))
-        .thenReturn(searchResult);
+    PageRequest pageable = PageRequest.of(page - 1, PAGE_SIZE);
+    when(medicineSearchRepository.searchByName(name, pageable))
+        .thenReturn(new PageImpl<>(searchResult, pageable, count));
 
     MedicineSearchPageRes result =
         medicineSearchService.getMedicineSearchesByNameAndPage(name, page);
@@ -104,9 +156,9 @@ class MedicineSearchServiceTest {
         .medicineSearchList(searchResultFirstPage)
         .build();
 
-    when(medicineSearchRepository.countByName(name)).thenReturn(count);
-    when(medicineSearchRepository.findByName(name, PageRequest.of(page - 1, PAGE_SIZE)))
-        .thenReturn(searchResult);
+    PageRequest pageable = PageRequest.of(page - 1, PAGE_SIZE);
+    when(medicineSearchRepository.searchByName(name, pageable))
+        .thenReturn(new PageImpl<>(searchResult, pageable, count));
 
     MedicineSearchPageRes result =
         medicineSearchService.getMedicineSearchesByNameAndPage(name, page);
@@ -118,9 +170,6 @@ class MedicineSearchServiceTest {
   public void getMedicineSearchesByNameAndPage_ReturnPageZero() {
     String name = "medicine";
     int page = 0;
-    int count = PAGE_SIZE;
-
-    when(medicineSearchRepository.countByName(name)).thenReturn(count);
 
     Assertions.assertThrows(BadRequestException.class,
         () -> medicineSearchService.getMedicineSearchesByNameAndPage(name, page));
@@ -132,7 +181,9 @@ class MedicineSearchServiceTest {
     int page = 2;
     int count = PAGE_SIZE;
 
-    when(medicineSearchRepository.countByName(name)).thenReturn(count);
+    PageRequest pageable = PageRequest.of(page - 1, PAGE_SIZE);
+    when(medicineSearchRepository.searchByName(name, pageable))
+        .thenReturn(new PageImpl<>(List.of(), pageable, count));
 
     Assertions.assertThrows(BadRequestException.class,
         () -> medicineSearchService.getMedicineSearchesByNameAndPage(name, page));
@@ -143,9 +194,151 @@ class MedicineSearchServiceTest {
     String name = "medicine";
     int page = 1;
 
-    when(medicineSearchRepository.countByName(name)).thenReturn(0);
+    PageRequest pageable = PageRequest.of(page - 1, PAGE_SIZE);
+    when(medicineSearchRepository.searchByName(name, pageable))
+        .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+    when(medicineSearchRepository.searchByFuzzyName(name, pageable))
+        .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
     Assertions.assertThrows(BadRequestException.class,
         () -> medicineSearchService.getMedicineSearchesByNameAndPage(name, page));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void getMedicineSearchesByNameAndPage_NotCacheTimedOutFuzzySearch() {
+    String name = "medicine";
+    int page = 1;
+
+    PageRequest pageable = PageRequest.of(page - 1, PAGE_SIZE);
+    when(medicineSearchRepository.searchByName(name, pageable))
+        .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+    when(medicineSearchRepository.searchByFuzzyName(name, pageable))
+        .thenThrow(new QueryTimeoutException("timed out"));
+
+    Assertions.assertThrows(QueryTimeoutException.class,
+        () -> medicineSearchService.getMedicineSearchesByNameAndPage(name, page));
+    verify(searchCacheService, never()).putPage(any(), anyInt(), any());
+  }
+
+  @Test
+  public void getMedicineSearchesByNameAndCursor_PassLastSortValuesToSearchAfter() {
+    when(memberService.getLoginMember()).thenReturn(member);
+    List<SearchHit<MedicineSearch>> firstHits = new ArrayList<>();
+    for (int id = 1; id <= PAGE_SIZE; id++) {
+      firstHits.add(searchHit(id, 2.0f, id));
+    }
+    SearchHit<MedicineSearch> lastHit = searchHit(42, 1.5f, 42);
+    firstHits.set(PAGE_SIZE - 1, lastHit);
+    SearchHits<MedicineSearch> firstPage = mock(SearchHits.class);
+    when(firstPage.getTotalHits()).thenReturn(10L);
+    when(firstPage.stream()).thenReturn(firstHits.stream());
+    when(firstPage.getSearchHit(PAGE_SIZE - 1)).thenReturn(lastHit);
+    when(medicineSearchRepository.searchAfter(SearchMode.NAME, "medicine", null, PAGE_SIZE))
+        .thenReturn(firstPage);
+    SearchHit<MedicineSearch> nextHit = searchHit(50, 1.0f, 50);
+    SearchHits<MedicineSearch> secondPage = mock(SearchHits.class);
+    when(secondPage.stream()).thenReturn(Stream.of(nextHit));
+    when(secondPage.getSearchHit(0)).thenReturn(nextHit);
+    when(medicineSearchRepository.searchAfter(SearchMode.NAME, "medicine", List.of(1.5f, 42),
+        PAGE_SIZE)).thenReturn(secondPage);
+
+    MedicineSearchPageRes first =
+        medicineSearchService.getMedicineSearchesByNameAndCursor("medicine", null);
+    MedicineSearchPageRes second =
+        medicineSearchService.getMedicineSearchesByNameAndCursor("medicine", first.getNextCursor());
+
+    Assertions.assertEquals(SearchCursor.decode(first.getNextCursor()), SearchCursor.builder()
+        .mode(SearchMode.NAME).page(1).total(10).score(1.5f).id(42).build());
+    Assertions.assertEquals(second.getPage(), 2);
+    Assertions.assertEquals(second.getTotal(), 10);
+    Assertions.assertTrue(second.isLastPage());
+    Assertions.assertNull(second.getNextCursor());
+  }
+
+  @Test
+  public void getMedicineSearchesByNameAndCursor_InvalidCursor() {
+    BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+        () -> medicineSearchService.getMedicineSearchesByNameAndCursor("medicine", "%%%"));
+
+    Assertions.assertEquals(exception.getErrorResponse().getName(),
+        SEARCH_CURSOR_INVALID.getErrorResponse().getName());
+    verify(medicineSearchRepository, never()).searchAfter(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  public void getMedicineSearchesByFacets_ReturnDisplayValuesOfFacets() {
+    when(memberService.getLoginMember()).thenReturn(member);
+    when(indexService.isFacetReady()).thenReturn(true);
+    MedicineSearch medicine = MedicineSearch.builder().id(1).name("medicine")
+        .company("ＡＢＣ Pharm").image("a").build();
+    SearchHit<MedicineSearch> hit = mock(SearchHit.class);
+    when(hit.getContent()).thenReturn(medicine);
+    Aggregations aggregations = new Aggregations(List.of(
+        facet(MedicineSearchRepositoryCustom.COMPANY_FACET, "abc pharm", 3,
+            Map.of("company", "ＡＢＣ Pharm")),
+        facet(MedicineSearchRepositoryCustom.INGREDIENT_FACET, "acetaminophen", 2,
+            Map.of("ingredients", List.of("Caffeine", "Acetaminophen")))));
+    SearchHits<MedicineSearch> searchHits = mock(SearchHits.class);
+    when(searchHits.getTotalHits()).thenReturn(1L);
+    when(searchHits.stream()).thenReturn(Stream.of(hit));
+    when(searchHits.getAggregations()).thenReturn(new ElasticsearchAggregations(aggregations));
+    when(medicineSearchRepository.searchByFacets("medicine", List.of("abc pharm"), List.of(),
+        PageRequest.of(0, PAGE_SIZE), FACET_SIZE)).thenReturn(searchHits);
+    when(favoriteService.getFavoriteMedicineIds(1, List.of(1))).thenReturn(Set.of(1));
+
+    MedicineFacetSearchPageRes result = medicineSearchService.getMedicineSearchesByFacets(
+        "medicine", List.of(" abc  pharm "), null, 1);
+
+    Assertions.assertEquals(result.getTotal(), 1);
+    Assertions.assertTrue(result.getMedicineSearchList().get(0).isFavorite());
+    Assertions.assertEquals(result.getCompanies(),
+        List.of(FacetCountRes.builder().value("ＡＢＣ Pharm").count(3).build()));
+    Assertions.assertEquals(result.getIngredients(),
+        List.of(FacetCountRes.builder().value("Acetaminophen").count(2).build()));
+  }
+
+  @Test
+  public void getMedicineSearchesByFacets_FacetNotReady() {
+    when(indexService.isFacetReady()).thenReturn(false);
+
+    Assertions.assertThrows(BadRequestException.class,
+        () -> medicineSearchService.getMedicineSearchesByFacets("medicine", List.of(), List.of(),
+            1));
+    verify(medicineSearchRepository, never()).searchByFacets(any(), any(), any(), any(),
+        anyInt());
+  }
+
+  private static SearchHit<MedicineSearch> searchHit(int id, float score, int sortId) {
+    SearchHit<MedicineSearch> hit = mock(SearchHit.class);
+    lenient().when(hit.getContent()).thenReturn(
+        MedicineSearch.builder().id(id).name("medicine" + id).company("company").build());
+    lenient().when(hit.getSortValues()).thenReturn(List.of(score, sortId));
+    return hit;
+  }
+
+  /**
+   * 검색결과 하나를 값의 원래 문서로 갖는 filter aggregation을 만듭니다.
+   */
+  private static Filter facet(String name, String key, long count, Map<String, Object> source) {
+    org.elasticsearch.search.SearchHit valueHit = mock(org.elasticsearch.search.SearchHit.class);
+    when(valueHit.getSourceAsMap()).thenReturn(source);
+    org.elasticsearch.search.SearchHits valueHits = mock(org.elasticsearch.search.SearchHits.class);
+    when(valueHits.getHits()).thenReturn(new org.elasticsearch.search.SearchHit[]{valueHit});
+    TopHits topHits = mock(TopHits.class);
+    when(topHits.getName()).thenReturn(MedicineSearchRepositoryCustom.FACET_VALUE);
+    when(topHits.getHits()).thenReturn(valueHits);
+
+    Terms.Bucket bucket = mock(Terms.Bucket.class);
+    when(bucket.getKeyAsString()).thenReturn(key);
+    when(bucket.getDocCount()).thenReturn(count);
+    when(bucket.getAggregations()).thenReturn(new Aggregations(List.of(topHits)));
+    Terms terms = mock(Terms.class);
+    when(terms.getName()).thenReturn(name);
+    doReturn(List.of(bucket)).when(terms).getBuckets();
+
+    Filter filter = mock(Filter.class);
+    when(filter.getName()).thenReturn(name);
+    when(filter.getAggregations()).thenReturn(new Aggregations(List.of(terms)));
+    return filter;
+  }
+}
@@ -1,10 +1,24 @@
 package pocketyacsa.server.medicine.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static pocketyacsa.server.common.utility.Constant.MEDICINE_BATCH_SIZE;
+
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,10 +26,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import pocketyacsa.server.common.exception.BadRequestException;
 import pocketyacsa.server.medicine.domain.entity.Medicine;
+import pocketyacsa.server.medicine.domain.entity.MedicineSection;
 import pocketyacsa.server.medicine.domain.response.MedicineRes;
+import pocketyacsa.server.medicine.domain.response.SectionStatus;
+import pocketyacsa.server.medicine.repository.FavoriteRepository;
 import pocketyacsa.server.medicine.repository.MedicineRepository;
+import pocketyacsa.server.member.entity.Member;
+import pocketyacsa.server.member.service.MemberService;
 
 @ExtendWith(MockitoExtension.class)
 class MedicineServiceTest {
@@ -23,6 +43,18 @@ class MedicineServiceTest {
   @Mock
   MedicineRepository medicineRepository;
 
+  @Mock
+  MemberService memberService;
+
+  @Mock
+  FavoriteRepository favoriteRepository;
+
+  @Mock
+  MedicineDocumentService documentService;
+
+  @Mock
+  MedicineIngredientService ingredientService;
+
   @InjectMocks
   MedicineService medicineService;
 
@@ -133,4 +165,68 @@ class MedicineServiceTest {
         () -> medicineService.getMedicineResByCode("1234512345"));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void getMedicineResByIds_ReturnInRequestedOrderWithoutMissingIds() {
+    Medicine other = Medicine.builder().id(3).code("5432154321").name("other").build();
+    Mockito.when(memberService.getLoginMember()).thenReturn(Member.builder().id(7).build());
+    Mockito.when(medicineRepository.findAllById(List.of(3, 99, 1)))
+        .thenReturn(List.of(medicine, other));
+    Mockito.when(documentService.getBatchDocumentAsync(anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture("<p>document</p>"));
+    Mockito.when(favoriteRepository.findMedicineIdsByMemberIdAndMedicineIdIn(eq(7), any()))
+        .thenReturn(List.of(3));
+    Mockito.when(ingredientService.getIngredientNames(anyList()))
+        .thenReturn(Map.of(1, ingredientList, 3, List.of()));
+    ReflectionTestUtils.setField(medicineService, "detailDeadline", Duration.ofSeconds(1));
+
+    List<MedicineRes> result = medicineService.getMedicineResByIds(List.of(3, 99, 1, 3));
+
+    assertEquals(result.stream().map(MedicineRes::getId).collect(Collectors.toList()),
+        List.of(3, 1));
+    assertTrue(result.get(0).isFavorite());
+    assertFalse(result.get(1).isFavorite());
+    assertEquals(result.get(1).getIngredient(), ingredientList);
+    assertEquals(result.get(1).getEffect(), "<p>document</p>");
+    assertEquals(result.get(1).getSectionStatus().get(MedicineSection.EFFECT), SectionStatus.OK);
+    // 즐겨찾기 여부는 의약품마다 조회하지 않고 한 번의 IN 쿼리로 조회합니다.
+    Mockito.verify(favoriteRepository).findMedicineIdsByMemberIdAndMedicineIdIn(7, Set.of(1, 3));
+    Mockito.verify(favoriteRepository, Mockito.never())
+        .existsByMemberIdAndMedicineId(anyInt(), anyInt());
+  }
+
+  @Test
+  public void getMedicineResByIds_FetchOnBatchExecutor() {
+    Mockito.when(memberService.getLoginMember()).thenReturn(Member.builder().id(7).build());
+    Mockito.when(medicineRepository.findAllById(List.of(1))).thenReturn(List.of(medicine));
+    Mockito.when(documentService.getBatchDocumentAsync(anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture("<p>document</p>"));
+    ReflectionTestUtils.setField(medicineService, "detailDeadline", Duration.ofSeconds(1));
+
+    medicineService.getMedicineResByIds(List.of(1));
+
+    for (MedicineSection section : MedicineSection.values()) {
+      Mockito.verify(documentService).getBatchDocumentAsync(medicine.getCode(), section);
+    }
+    Mockito.verify(documentService, Mockito.never()).getDocumentAsync(anyString(), any());
+  }
+
+  @Test
+  public void getMedicineResByIds_TooManyIds() {
+    List<Integer> ids = IntStream.rangeClosed(1, MEDICINE_BATCH_SIZE + 1).boxed()
+        .collect(Collectors.toList());
+
+    assertThrows(BadRequestException.class, () -> medicineService.getMedicineResByIds(ids));
+    assertThrows(BadRequestException.class,
+        () -> medicineService.getMedicineResByIds(List.of()));
+    Mockito.verifyNoInteractions(medicineRepository, documentService);
+  }
+
+  @Test
+  public void getMedicineResByIds_NotExist() {
+    Mockito.when(memberService.getLoginMember()).thenReturn(Member.builder().id(7).build());
+    Mockito.when(medicineRepository.findAllById(List.of(99))).thenReturn(List.of());
+
+    assertThrows(BadRequestException.class,
+        () -> medicineService.getMedicineResByIds(List.of(99)));
+  }
+}
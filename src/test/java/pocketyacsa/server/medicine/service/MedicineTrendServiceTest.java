@@ -0,0 +1,118 @@
+package pocketyacsa.server.medicine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisZSetCommands.Aggregate;
+import org.springframework.data.redis.connection.RedisZSetCommands.Weights;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class MedicineTrendServiceTest {
+
+  @Mock
+  StringRedisTemplate redisTemplate;
+
+  @Mock
+  ZSetOperations<String, String> zSetOperations;
+
+  MedicineTrendService trendService;
+
+  @BeforeEach
+  public void setUp() {
+    trendService = new MedicineTrendService(redisTemplate, Duration.ofMinutes(10),
+        Duration.ofMinutes(30), 0.5);
+  }
+
+  @Test
+  public void flush_PipelineNormalizedCounts() {
+    StringRedisConnection connection = mock(StringRedisConnection.class);
+    when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+      invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+      return List.of();
+    });
+
+    trendService.record("타이레놀");
+    trendService.record("  타이레놀 ");
+    trendService.record("");
+    trendService.flush();
+    trendService.flush();
+
+    verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    verify(connection).zIncrBy(anyString(), eq(2.0), eq("타이레놀"));
+  }
+
+  @Test
+  public void flush_KeepCountsRecordedDuringFlush() throws Exception {
+    StringRedisConnection connection = mock(StringRedisConnection.class);
+    AtomicLong flushed = new AtomicLong();
+    when(connection.zIncrBy(anyString(), anyDouble(), eq("타이레놀"))).thenAnswer(invocation -> {
+      flushed.addAndGet((long) invocation.getArgument(1, Double.class).doubleValue());
+      return null;
+    });
+    when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+      invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+      return List.of();
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 10000; j++) {
+          trendService.record("타이레놀");
+        }
+      }));
+    }
+    while (!futures.stream().allMatch(Future::isDone)) {
+      trendService.flush();
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    trendService.flush();
+
+    assertEquals(flushed.get(), 40000L);
+  }
+
+  @Test
+  public void refresh_ServeDecayedSnapshot() {
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(zSetOperations.reverseRange("MedicineSearch Trend Snapshot", 0, 9))
+        .thenReturn(new LinkedHashSet<>(List.of("타이레놀", "타미플루")));
+
+    trendService.refresh();
+
+    ArgumentCaptor<Weights> weights = ArgumentCaptor.forClass(Weights.class);
+    verify(zSetOperations).unionAndStore(anyString(), anyCollection(),
+        eq("MedicineSearch Trend Snapshot"), eq(Aggregate.SUM), weights.capture());
+    assertEquals(weights.getValue().toList(), List.of(1.0, 0.5, 0.25));
+    assertEquals(trendService.getTrendingKeywords(), List.of("타이레놀", "타미플루"));
+  }
+}